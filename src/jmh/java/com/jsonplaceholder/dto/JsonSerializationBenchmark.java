@@ -0,0 +1,97 @@
+package com.jsonplaceholder.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the response bodies, using an ObjectMapper built with the same defaults
+ * Spring Boot applies to the application's mapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter userWriter;
+    private ObjectWriter userListWriter;
+    private ObjectWriter jwtResponseWriter;
+    private UserDto user;
+    private List<UserDto> page;
+    private JwtResponse jwtResponse;
+    private byte[] userJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        userWriter = objectMapper.writerFor(UserDto.class);
+        userListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, UserDto.class));
+        jwtResponseWriter = objectMapper.writerFor(JwtResponse.class);
+
+        user = sampleUser(1);
+        page = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            page.add(sampleUser(i));
+        }
+        jwtResponse = new JwtResponse(
+                "eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiI0MiIsImlhdCI6MTcwMDAwMDAwMCwiZXhwIjoxNzAwMDg2NDAwfQ.signature",
+                new JwtResponse.UserInfo(42L, "Leanne Graham", "Bret", "Sincere@april.biz"));
+        userJson = userWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] writeUser() throws Exception {
+        return userWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] writeUserPage() throws Exception {
+        return userListWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeJwtResponse() throws Exception {
+        return jwtResponseWriter.writeValueAsBytes(jwtResponse);
+    }
+
+    @Benchmark
+    public UserDto readUser() throws Exception {
+        return objectMapper.readValue(userJson, UserDto.class);
+    }
+
+    private static UserDto sampleUser(int id) {
+        GeoDto geo = new GeoDto();
+        geo.setLat("-37.3159");
+        geo.setLng("81.1496");
+
+        AddressDto address = new AddressDto();
+        address.setStreet("Kulas Light");
+        address.setSuite("Apt. 556");
+        address.setCity("Gwenborough");
+        address.setZipcode("92998-3874");
+        address.setGeo(geo);
+
+        CompanyDto company = new CompanyDto();
+        company.setName("Romaguera-Crona");
+        company.setCatchPhrase("Multi-layered client-server neural-net");
+        company.setBs("harness real-time e-markets");
+
+        UserDto user = new UserDto();
+        user.setId((long) id);
+        user.setName("Leanne Graham");
+        user.setUsername("Bret" + id);
+        user.setEmail("Sincere" + id + "@april.biz");
+        user.setPhone("1-770-736-8031 x56442");
+        user.setWebsite("hildegard.org");
+        user.setAddress(address);
+        user.setCompany(company);
+        user.setVersion(0L);
+        return user;
+    }
+}
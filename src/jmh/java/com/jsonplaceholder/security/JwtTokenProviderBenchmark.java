@@ -0,0 +1,54 @@
+package com.jsonplaceholder.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost. {@code verifiedCacheSize = 0} measures the full HMAC
+ * verification on every call; a non-zero size measures the verified-token cache hit path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    // Same key length as the shipped jwt.secret (1024 bits)
+    private static final String SECRET =
+            "jSVnih8jztz6v6DSaP8or9lhxY6WQ5ccV2W0jCAiiXVd6X5KLIPm4sZbxCxbpG+WtlOXrPmYSJhqMjfUOG4DHmhhuNNKQd1P1uxUPUfe4CXUAqIARzCvRpd8tAQd7MlFfFXUWkWG32W5bC1J4kaxQFR5fv4tDevvifK6y1yC8Hw1";
+
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 86_400_000, verifiedCacheSize, new SimpleMeterRegistry());
+        UserPrincipal principal = new UserPrincipal(42L, "Benchmark User", "bench@example.com", "password",
+                Collections.emptyList());
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Long getUserIdFromJWT() {
+        return tokenProvider.getUserIdFromJWT(token);
+    }
+}
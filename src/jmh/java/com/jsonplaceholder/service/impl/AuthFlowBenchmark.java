@@ -0,0 +1,142 @@
+package com.jsonplaceholder.service.impl;
+
+import com.jsonplaceholder.JsonPlaceholderApplication;
+import com.jsonplaceholder.dto.JwtResponse;
+import com.jsonplaceholder.dto.LoginRequest;
+import com.jsonplaceholder.dto.RegisterRequest;
+import com.jsonplaceholder.model.AuthUser;
+import com.jsonplaceholder.model.User;
+import com.jsonplaceholder.repository.AuthUserRepository;
+import com.jsonplaceholder.repository.UserRepository;
+import com.jsonplaceholder.security.JwtTokenProvider;
+import com.jsonplaceholder.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the login/register pipeline before and after it was reduced to one bcrypt
+ * and one user lookup per call. The "legacy" methods replay the previous sequence
+ * (hash, then authenticate through the AuthenticationManager, then look the user up again).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthFlowBenchmark {
+
+    private static final String PASSWORD = "password123";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+    private AuthenticationManager authenticationManager;
+    private AuthUserRepository authUserRepository;
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private JwtTokenProvider tokenProvider;
+    private TransactionTemplate transactionTemplate;
+    private LoginRequest loginRequest;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        databaseFile = Files.createTempFile("auth-flow-benchmark", ".db");
+        context = new SpringApplicationBuilder(JsonPlaceholderApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:sqlite:" + databaseFile,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        authService = context.getBean(AuthService.class);
+        authenticationManager = context.getBean(AuthenticationManager.class);
+        authUserRepository = context.getBean(AuthUserRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        passwordEncoder = context.getBean(PasswordEncoder.class);
+        tokenProvider = context.getBean(JwtTokenProvider.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        RegisterRequest seed = nextRegisterRequest();
+        authService.register(seed);
+        loginRequest = new LoginRequest();
+        loginRequest.setEmail(seed.getEmail());
+        loginRequest.setPassword(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws Exception {
+        context.close();
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Benchmark
+    public JwtResponse login() {
+        return authService.login(loginRequest);
+    }
+
+    @Benchmark
+    public JwtResponse loginLegacy() {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+        String jwt = tokenProvider.generateToken(authentication);
+        AuthUser authUser = transactionTemplate.execute(status ->
+                authUserRepository.findWithUserByEmail(loginRequest.getEmail()).orElseThrow());
+        return toResponse(jwt, authUser);
+    }
+
+    @Benchmark
+    public JwtResponse register() {
+        return authService.register(nextRegisterRequest());
+    }
+
+    @Benchmark
+    public JwtResponse registerLegacy() {
+        RegisterRequest request = nextRegisterRequest();
+        AuthUser authUser = transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setName(request.getName());
+            user.setUsername(request.getUsername());
+            user.setEmail(request.getEmail());
+            user = userRepository.save(user);
+
+            AuthUser created = new AuthUser();
+            created.setName(request.getName());
+            created.setEmail(request.getEmail());
+            created.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+            created.setUser(user);
+            return authUserRepository.save(created);
+        });
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        return toResponse(tokenProvider.generateToken(authentication), authUser);
+    }
+
+    private JwtResponse toResponse(String jwt, AuthUser authUser) {
+        return new JwtResponse(jwt, new JwtResponse.UserInfo(
+                authUser.getId(), authUser.getName(), authUser.getUser().getUsername(), authUser.getEmail()));
+    }
+
+    private RegisterRequest nextRegisterRequest() {
+        long n = sequence.incrementAndGet();
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Benchmark User " + n);
+        request.setUsername("bench" + n);
+        request.setEmail("bench" + n + "@example.com");
+        request.setPassword(PASSWORD);
+        return request;
+    }
+}
@@ -0,0 +1,71 @@
+package com.jsonplaceholder.service.impl;
+
+import com.jsonplaceholder.model.Address;
+import com.jsonplaceholder.model.Company;
+import com.jsonplaceholder.model.Geo;
+import com.jsonplaceholder.model.User;
+import com.jsonplaceholder.repository.UserRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic users for the database benchmarks. Names, cities and companies repeat with
+ * different periods, so text searches hit anything from one row to a few percent of the table.
+ */
+final class BenchmarkUsers {
+
+    private static final int CHUNK = 10_000;
+
+    private static final String[] FIRST_NAMES = {
+            "Leanne", "Ervin", "Clementine", "Patricia", "Chelsey", "Dennis", "Kurtis", "Nicholas",
+            "Glenna", "Clementina", "Maxime", "Delphine", "Elwyn", "Karianne", "Kamren", "Imani"};
+    private static final String[] LAST_NAMES = {
+            "Graham", "Howell", "Bauch", "Lebsack", "Dietrich", "Schulist", "Weissnat", "Runolfsdottir",
+            "Reichert", "DuBuque", "Nienow", "Kuhn", "Skiles", "Lockman", "Rosenbaum", "Conroy", "Hettinger"};
+    private static final String[] CITIES = {
+            "Gwenborough", "Wisokyburgh", "McKenziehaven", "South Elvis", "Roscoeview", "South Christy",
+            "Howemouth", "Aliyaview", "Bartholomebury", "Lebsackbury", "Kulasville", "Romaguera"};
+
+    private BenchmarkUsers() {
+    }
+
+    static void seed(UserRepository userRepository, TransactionTemplate write, int rows) {
+        for (int seeded = 0; seeded < rows; seeded += CHUNK) {
+            List<User> chunk = new ArrayList<>(CHUNK);
+            for (int i = seeded; i < Math.min(rows, seeded + CHUNK); i++) {
+                chunk.add(user(i));
+            }
+            write.executeWithoutResult(status -> userRepository.insertAll(chunk));
+        }
+    }
+
+    static User user(int n) {
+        Geo geo = new Geo();
+        geo.setLat("-37.3159");
+        geo.setLng("81.1496");
+
+        Address address = new Address();
+        address.setStreet(n + " Kulas Light");
+        address.setSuite("Apt. " + (n % 1000));
+        address.setCity(CITIES[n % CITIES.length]);
+        address.setZipcode("92998-3874");
+        address.setGeo(geo);
+
+        Company company = new Company();
+        company.setName("Company " + (n % 500));
+        company.setCatchPhrase("Multi-layered client-server neural-net");
+        company.setBs("harness real-time e-markets");
+
+        User user = new User();
+        user.setName(FIRST_NAMES[n % FIRST_NAMES.length] + " " + LAST_NAMES[n % LAST_NAMES.length] + " " + n);
+        user.setUsername("bench" + n);
+        user.setEmail("bench" + n + "@example.com");
+        user.setPhone("1-770-736-8031 x" + n);
+        user.setWebsite("bench" + n + ".org");
+        user.setAddress(address);
+        user.setCompany(company);
+        return user;
+    }
+}
@@ -0,0 +1,131 @@
+package com.jsonplaceholder.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jsonplaceholder.JsonPlaceholderApplication;
+import com.jsonplaceholder.dto.PhotoDto;
+import com.jsonplaceholder.repository.PhotoRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full {@code GET /photos} listing as the controller writes it: rows from the database
+ * cursor serialized one by one to a discarding stream. The heap is capped well below what the
+ * larger tables would take as a {@code List}, and {@code peakHeapMb} (peak heap use during
+ * the scan, summed over the heap pools) should stay about the same at every table size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class PhotoStreamBenchmark {
+
+    private static final String INSERT_PHOTOS = "WITH RECURSIVE seq(n) AS ("
+            + "SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?) "
+            + "INSERT INTO photos (album_id, title, url, thumbnail_url) "
+            + "SELECT (SELECT min(id) FROM albums) + n % 100, 'benchmark photo ' || n, "
+            + "'https://via.placeholder.com/600/' || printf('%06x', n % 16777216), "
+            + "'https://via.placeholder.com/150/' || printf('%06x', n % 16777216) FROM seq";
+
+    @Param({"100000", "1000000", "5000000"})
+    public int rows;
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private PhotoServiceImpl photoService;
+    private ObjectMapper objectMapper;
+    private ObjectWriter photoWriter;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        databaseFile = Files.createTempFile("photo-stream-benchmark", ".db");
+        context = new SpringApplicationBuilder(JsonPlaceholderApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:sqlite:" + databaseFile,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        photoService = context.getBean(PhotoServiceImpl.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        photoWriter = objectMapper.writerFor(PhotoDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        // Migrations seed 5000 photos; top up in one statement, generated inside SQLite
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long missing = rows - context.getBean(PhotoRepository.class).count();
+        if (missing > 0) {
+            new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                    .executeWithoutResult(status -> jdbcTemplate.update(INSERT_PHOTOS, missing));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws Exception {
+        context.close();
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Benchmark
+    public long streamAllPhotos(HeapCounters heap) throws IOException {
+        long[] written = new long[1];
+        try (JsonGenerator generator = objectMapper.createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartArray();
+            photoService.streamAllPhotos(photo -> {
+                try {
+                    photoWriter.writeValue(generator, photo);
+                    written[0]++;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            generator.writeEndArray();
+        }
+        heap.record();
+        return written[0];
+    }
+
+    /**
+     * Peak heap use of the last scan. Reset after a full collection so it starts from what
+     * the application retains anyway.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+
+        private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+
+        public long peakHeapMb;
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            System.gc();
+            HEAP_POOLS.forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        void record() {
+            long peak = HEAP_POOLS.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            peakHeapMb = peak / (1024 * 1024);
+        }
+    }
+}
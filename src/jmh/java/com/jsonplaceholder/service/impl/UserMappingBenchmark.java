@@ -0,0 +1,81 @@
+package com.jsonplaceholder.service.impl;
+
+import com.jsonplaceholder.dto.AddressDto;
+import com.jsonplaceholder.dto.CompanyDto;
+import com.jsonplaceholder.dto.GeoDto;
+import com.jsonplaceholder.dto.UserDto;
+import com.jsonplaceholder.model.User;
+import com.jsonplaceholder.repository.UserRow;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity/DTO copies in {@link UserServiceImpl}, without any database access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserMappingBenchmark {
+
+    private UserServiceImpl userService;
+    private UserDto userDto;
+    private User user;
+    private UserRow userRow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The converters touch none of the collaborators
+        userService = new UserServiceImpl(null, null, null, null, null, Duration.ZERO);
+
+        GeoDto geo = new GeoDto();
+        geo.setLat("-37.3159");
+        geo.setLng("81.1496");
+
+        AddressDto address = new AddressDto();
+        address.setStreet("Kulas Light");
+        address.setSuite("Apt. 556");
+        address.setCity("Gwenborough");
+        address.setZipcode("92998-3874");
+        address.setGeo(geo);
+
+        CompanyDto company = new CompanyDto();
+        company.setName("Romaguera-Crona");
+        company.setCatchPhrase("Multi-layered client-server neural-net");
+        company.setBs("harness real-time e-markets");
+
+        userDto = new UserDto();
+        userDto.setName("Leanne Graham");
+        userDto.setUsername("Bret");
+        userDto.setEmail("Sincere@april.biz");
+        userDto.setPhone("1-770-736-8031 x56442");
+        userDto.setWebsite("hildegard.org");
+        userDto.setAddress(address);
+        userDto.setCompany(company);
+
+        user = userService.convertToEntity(userDto);
+        user.setId(1L);
+        user.setVersion(0L);
+
+        userRow = new UserRow(1L, "Leanne Graham", "Bret", "Sincere@april.biz",
+                "Kulas Light", "Apt. 556", "Gwenborough", "92998-3874", "-37.3159", "81.1496",
+                "1-770-736-8031 x56442", "hildegard.org",
+                "Romaguera-Crona", "Multi-layered client-server neural-net", "harness real-time e-markets", 0L);
+    }
+
+    @Benchmark
+    public UserDto convertEntityToDto() {
+        return userService.convertToDto(user);
+    }
+
+    @Benchmark
+    public UserDto convertRowToDto() {
+        return userService.convertToDto(userRow);
+    }
+
+    @Benchmark
+    public User convertToEntity() {
+        return userService.convertToEntity(userDto);
+    }
+}
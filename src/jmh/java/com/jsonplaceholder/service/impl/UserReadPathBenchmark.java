@@ -0,0 +1,118 @@
+package com.jsonplaceholder.service.impl;
+
+import com.jsonplaceholder.JsonPlaceholderApplication;
+import com.jsonplaceholder.dto.UserDto;
+import com.jsonplaceholder.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Compares the user read paths: managed {@code User} entities copied by {@code convertToDto}
+ * against {@code UserRow} constructor projections. "scan" pages through the whole table the
+ * way a client following {@code Link: rel="next"} would; "byId" looks up random users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserReadPathBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private UserServiceImpl userService;
+    private TransactionTemplate readOnly;
+    private long minId;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        databaseFile = Files.createTempFile("user-read-path-benchmark", ".db");
+        context = new SpringApplicationBuilder(JsonPlaceholderApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:sqlite:" + databaseFile,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        userRepository = context.getBean(UserRepository.class);
+        userService = context.getBean(UserServiceImpl.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        BenchmarkUsers.seed(userRepository, new TransactionTemplate(transactionManager), rows);
+        minId = readOnly.execute(status -> userRepository.findRowsAfter(0L, Limit.of(1)).get(0).id());
+        maxId = minId + userRepository.count() - 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws Exception {
+        context.close();
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Benchmark
+    public long scanEntities(Blackhole blackhole) {
+        return scan(after -> userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(PAGE_SIZE)).stream()
+                .map(userService::convertToDto)
+                .toList(), blackhole);
+    }
+
+    @Benchmark
+    public long scanProjections(Blackhole blackhole) {
+        return scan(after -> userRepository.findRowsAfter(after, Limit.of(PAGE_SIZE)).stream()
+                .map(userService::convertToDto)
+                .toList(), blackhole);
+    }
+
+    @Benchmark
+    public UserDto byIdEntity() {
+        long id = randomId();
+        return readOnly.execute(status -> userRepository.findById(id).map(userService::convertToDto).orElseThrow());
+    }
+
+    @Benchmark
+    public UserDto byIdProjection() {
+        long id = randomId();
+        return readOnly.execute(status -> userRepository.findRowById(id).map(userService::convertToDto).orElseThrow());
+    }
+
+    // One read-only transaction per page, as getAllUsers does
+    private long scan(LongFunction<List<UserDto>> page, Blackhole blackhole) {
+        long after = 0;
+        long seen = 0;
+        while (true) {
+            long cursor = after;
+            List<UserDto> users = readOnly.execute(status -> page.apply(cursor));
+            if (users.isEmpty()) {
+                return seen;
+            }
+            users.forEach(blackhole::consume);
+            seen += users.size();
+            after = users.get(users.size() - 1).getId();
+        }
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    }
+}
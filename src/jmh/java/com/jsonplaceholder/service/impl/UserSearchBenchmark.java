@@ -0,0 +1,82 @@
+package com.jsonplaceholder.service.impl;
+
+import com.jsonplaceholder.JsonPlaceholderApplication;
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.dto.UserDto;
+import com.jsonplaceholder.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of {@code GET /users?q=} against the FTS5 index, next to the {@code LIKE '%q%'}
+ * scan it replaces. The queries match one row, about 6% and about 8% of the table: the scan
+ * only reads the whole table for the selective one, while ranking has to score every match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String LIKE_SCAN = "SELECT id, name, username, email, city, company_name FROM users "
+            + "WHERE name LIKE ?1 OR username LIKE ?1 OR email LIKE ?1 OR city LIKE ?1 OR company_name LIKE ?1 "
+            + "ORDER BY id LIMIT ?2";
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"bench424242", "Clementine", "Gwenborough"})
+    public String query;
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private UserServiceImpl userService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        databaseFile = Files.createTempFile("user-search-benchmark", ".db");
+        context = new SpringApplicationBuilder(JsonPlaceholderApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:sqlite:" + databaseFile,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        userService = context.getBean(UserServiceImpl.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        // The insert trigger indexes every row; merging its segments afterwards mirrors a settled database
+        BenchmarkUsers.seed(context.getBean(UserRepository.class), new TransactionTemplate(transactionManager), rows);
+        jdbcTemplate.execute("INSERT INTO users_fts (users_fts) VALUES ('optimize')");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws Exception {
+        context.close();
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Benchmark
+    public CursorPage<UserDto> fullTextSearch() {
+        return userService.searchUsers(query, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> likeScan() {
+        return jdbcTemplate.queryForList(LIKE_SCAN, "%" + query + "%", PAGE_SIZE);
+    }
+}
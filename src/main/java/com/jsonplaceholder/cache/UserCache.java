@@ -0,0 +1,103 @@
+package com.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.jsonplaceholder.dto.UserDto;
+import com.jsonplaceholder.service.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Size- and TTL-bounded cache of {@link UserDto} by id. Missing ids are cached as
+ * {@link Optional#empty()} with a shorter TTL so repeated 404s do not reach the database.
+ */
+@Component
+public class UserCache {
+
+    private final Cache<Long, Optional<UserDto>> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserCache(
+            @Value("${cache.users.max-size:10000}") long maxSize,
+            @Value("${cache.users.ttl:10m}") Duration ttl,
+            @Value("${cache.users.negative-ttl:5s}") Duration negativeTtl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new PresenceAwareExpiry(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public Optional<UserDto> get(Long id, Function<Long, Optional<UserDto>> loader) {
+        Optional<UserDto> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        // The loader runs outside any cache lock; if a write commits meanwhile the
+        // loaded value may predate it, so it is dropped again instead of being served.
+        long stamp = invalidations.get();
+        Optional<UserDto> loaded = loader.apply(id);
+        cache.put(id, loaded);
+        if (invalidations.get() != stamp) {
+            cache.invalidate(id);
+        }
+        return loaded;
+    }
+
+    // Cached user without loading; empty when the id is not cached or cached as missing
+    public Optional<UserDto> peek(Long id) {
+        Optional<UserDto> cached = cache.getIfPresent(id);
+        return cached == null ? Optional.empty() : cached;
+    }
+
+    // True while the id is cached as missing, so callers can answer 404 without a query
+    public boolean isKnownMissing(Long id) {
+        Optional<UserDto> cached = cache.getIfPresent(id);
+        return cached != null && cached.isEmpty();
+    }
+
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private record PresenceAwareExpiry(Duration ttl, Duration negativeTtl) implements Expiry<Long, Optional<UserDto>> {
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<UserDto> value, long currentTime) {
+            return value.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<UserDto> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<UserDto> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
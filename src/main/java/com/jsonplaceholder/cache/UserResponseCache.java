@@ -0,0 +1,114 @@
+package com.jsonplaceholder.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jsonplaceholder.service.UserChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response bodies of {@code GET /users/{id}} and unfiltered {@code GET /users} pages, kept
+ * as serialized UTF-8 JSON plus a gzip copy, so a hit is written out without Jackson or a
+ * compressor. Entries remember the ETag they were rendered for and are only served while it
+ * is still current, so a stale page is never served and simply ages out; a written user's
+ * own entry is also evicted after commit. Bounded by total bytes.
+ */
+@Component
+public class UserResponseCache {
+
+    // Approximate per-entry overhead of key, entry and array headers
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final Cache<Object, CachedResponse> cache;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinSize;
+
+    public UserResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${cache.responses.max-size:64MB}") DataSize maxSize,
+            @Value("${cache.responses.gzip-min-size:1KB}") DataSize gzipMinSize,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = (int) gzipMinSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Object key, CachedResponse value) -> value.size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.responses");
+        Gauge.builder("cache.user.responses.bytes", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .description("Bytes held by the serialized user response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public static Object item(long id) {
+        return new ItemKey(id);
+    }
+
+    public static Object page(long after, int limit) {
+        return new PageKey(after, limit);
+    }
+
+    // Null when nothing is cached for the key or the entry was rendered for another ETag
+    public CachedResponse get(Object key, String etag) {
+        CachedResponse cached = cache.getIfPresent(key);
+        return cached != null && cached.etag().equals(etag) ? cached : null;
+    }
+
+    public CachedResponse put(Object key, String etag, Object body, Long nextCursor) {
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        byte[] gzip = identity.length >= gzipMinSize ? gzip(identity) : null;
+        CachedResponse response = new CachedResponse(etag, identity, gzip, nextCursor);
+        cache.put(key, response);
+        return response;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Pages are not swept: their ETag carries the table version, which every write bumps
+        cache.invalidate(new ItemKey(event.userId()));
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    public record CachedResponse(String etag, byte[] identity, byte[] gzip, Long nextCursor) {
+
+        int size() {
+            return identity.length + (gzip == null ? 0 : gzip.length) + ENTRY_OVERHEAD;
+        }
+    }
+
+    private record ItemKey(long id) {
+    }
+
+    private record PageKey(long after, int limit) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.jsonplaceholder.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits SQLite access into a single writer connection and a pool of read-only connections.
+ * In WAL mode readers never block the writer (or each other), so {@code readOnly}
+ * transactions can run on every core while a write is in progress.
+ *
+ * <p>The primary {@link DataSource} is a lazy proxy: the physical connection is only fetched
+ * once the transaction's read-only flag is known, and read-only work is routed to the reader
+ * pool. Everything else, including Flyway, uses the writer.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private final String url;
+    private final String synchronous;
+    private final Duration busyTimeout;
+    private final int cacheSize;
+    private final long mmapSize;
+    private final MeterRegistry meterRegistry;
+
+    public DataSourceConfig(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${sqlite.pragmas.synchronous:NORMAL}") String synchronous,
+            @Value("${sqlite.pragmas.busy-timeout:5s}") Duration busyTimeout,
+            @Value("${sqlite.pragmas.cache-size:-20000}") int cacheSize,
+            @Value("${sqlite.pragmas.mmap-size:268435456}") long mmapSize,
+            MeterRegistry meterRegistry) {
+        this.url = url;
+        this.synchronous = synchronous;
+        this.busyTimeout = busyTimeout;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource writeDataSource() {
+        HikariConfig config = baseConfig("sqlite-write-pool");
+        // SQLite admits one writer at a time; a second connection would only wait on the lock
+        config.setMaximumPoolSize(1);
+        // WAL is persisted in the database file, so the writer switching it on covers readers too
+        config.addDataSourceProperty("journal_mode", "WAL");
+        config.addDataSourceProperty("synchronous", synchronous);
+        return new HikariDataSource(config);
+    }
+
+    // Takes the writer so the database file exists, and is in WAL mode, before readers open it
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readDataSource(
+            @Qualifier("writeDataSource") HikariDataSource writeDataSource,
+            @Value("${sqlite.read-pool-size:0}") int readPoolSize,
+            @Value("${exports.max-concurrent:2}") int maxConcurrentExports) {
+        HikariConfig config = baseConfig("sqlite-read-pool");
+        // Full-table downloads keep a reader for their whole duration, so they get their own share
+        config.setMaximumPoolSize(readPoolSize > 0
+                ? readPoolSize
+                : Runtime.getRuntime().availableProcessors() + Math.max(1, maxConcurrentExports));
+        config.setReadOnly(true);
+        config.addDataSourceProperty("open_mode", "1"); // SQLITE_OPEN_READONLY
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("writeDataSource") DataSource writeDataSource,
+            @Qualifier("readDataSource") DataSource readDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+
+    private HikariConfig baseConfig(String poolName) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.sqlite.JDBC");
+        // The pools start eagerly, before Boot could attach its metrics binder
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        // Applied by the driver on every new connection
+        config.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeout.toMillis()));
+        config.addDataSourceProperty("cache_size", String.valueOf(cacheSize));
+        config.addDataSourceProperty("mmap_size", String.valueOf(mmapSize));
+        return config;
+    }
+}
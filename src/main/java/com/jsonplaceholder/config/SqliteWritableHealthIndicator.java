@@ -0,0 +1,57 @@
+package com.jsonplaceholder.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Readiness check that the database file accepts writes: takes the write lock with
+ * {@code BEGIN IMMEDIATE} on a fresh connection and rolls back. A fresh connection keeps the
+ * probe off the single pooled writer and also catches permission or disk problems that only
+ * show up when a file is opened.
+ */
+@Component
+public class SqliteWritableHealthIndicator extends AbstractHealthIndicator {
+
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    private final String url;
+    private final Duration busyTimeout;
+
+    public SqliteWritableHealthIndicator(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${management.health.sqlite.busy-timeout:1s}") Duration busyTimeout) {
+        super("SQLite write check failed");
+        this.url = url;
+        this.busyTimeout = busyTimeout;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("busy_timeout", String.valueOf(busyTimeout.toMillis()));
+
+        try (Connection connection = DriverManager.getConnection(url, properties);
+             Statement statement = connection.createStatement()) {
+            statement.execute("BEGIN IMMEDIATE");
+            statement.execute("ROLLBACK");
+            builder.up();
+        } catch (SQLException ex) {
+            // Another connection holding the write lock proves the file is writable
+            int resultCode = ex.getErrorCode() & 0xff;
+            if (resultCode != SQLITE_BUSY && resultCode != SQLITE_LOCKED) {
+                throw ex;
+            }
+            builder.up().withDetail("busy", true);
+        }
+    }
+}
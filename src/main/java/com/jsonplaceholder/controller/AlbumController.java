@@ -0,0 +1,65 @@
+package com.jsonplaceholder.controller;
+
+import com.jsonplaceholder.dto.AlbumDto;
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.service.AlbumService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+public class AlbumController {
+    private final AlbumService albumService;
+    private final Paging paging;
+    private final Relations relations;
+
+    public AlbumController(AlbumService albumService, Paging paging, Relations relations) {
+        this.albumService = albumService;
+        this.paging = paging;
+        this.relations = relations;
+    }
+
+    @GetMapping("/albums")
+    public ResponseEntity<List<?>> getAllAlbums(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("albums", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        CursorPage<AlbumDto> page = userId == null
+                ? albumService.getAllAlbums(after, pageSize)
+                : albumService.getAlbumsByUser(userId, after, pageSize);
+        return pageResponse(page, pageSize, embed, expand);
+    }
+
+    @GetMapping("/albums/{id}")
+    public ResponseEntity<?> getAlbumById(
+            @PathVariable Long id,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("albums", embed, expand);
+        return ResponseEntity.ok(relations.apply("albums", albumService.getAlbumById(id), embed, expand));
+    }
+
+    @GetMapping("/users/{userId}/albums")
+    public ResponseEntity<List<?>> getAlbumsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("albums", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        return pageResponse(albumService.getAlbumsByUser(userId, after, pageSize), pageSize, embed, expand);
+    }
+
+    private ResponseEntity<List<?>> pageResponse(
+            CursorPage<AlbumDto> page, int pageSize, List<String> embed, List<String> expand) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        Paging.addNextLink(response, "after", page.getNextCursor(), pageSize);
+        return response.body(relations.apply("albums", page.getItems(), embed, expand));
+    }
+}
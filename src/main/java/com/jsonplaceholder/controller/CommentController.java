@@ -0,0 +1,81 @@
+package com.jsonplaceholder.controller;
+
+import com.jsonplaceholder.dto.CommentDto;
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.service.CommentService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+public class CommentController {
+    private final CommentService commentService;
+    private final Paging paging;
+    private final Relations relations;
+
+    public CommentController(CommentService commentService, Paging paging, Relations relations) {
+        this.commentService = commentService;
+        this.paging = paging;
+        this.relations = relations;
+    }
+
+    // ?postId= mirrors upstream's /comments?postId=1 and uses the same index as /posts/{id}/comments
+    @GetMapping("/comments")
+    public ResponseEntity<List<?>> getAllComments(
+            @RequestParam(required = false) Long postId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("comments", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        CursorPage<CommentDto> page = postId == null
+                ? commentService.getAllComments(after, pageSize)
+                : commentService.getCommentsByPost(postId, after, pageSize);
+        return pageResponse(page, pageSize, embed, expand);
+    }
+
+    @GetMapping("/comments/{id}")
+    public ResponseEntity<?> getCommentById(
+            @PathVariable Long id,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("comments", embed, expand);
+        return ResponseEntity.ok(relations.apply("comments", commentService.getCommentById(id), embed, expand));
+    }
+
+    @GetMapping("/posts/{postId}/comments")
+    public ResponseEntity<List<?>> getCommentsByPost(
+            @PathVariable Long postId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("comments", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        return pageResponse(commentService.getCommentsByPost(postId, after, pageSize), pageSize, embed, expand);
+    }
+
+    @PostMapping("/comments")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CommentDto> createComment(@Valid @RequestBody CommentDto commentDto) {
+        return ResponseEntity.ok(commentService.createComment(commentDto));
+    }
+
+    @DeleteMapping("/comments/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> deleteComment(@PathVariable Long id) {
+        commentService.deleteComment(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<List<?>> pageResponse(
+            CursorPage<CommentDto> page, int pageSize, List<String> embed, List<String> expand) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        Paging.addNextLink(response, "after", page.getNextCursor(), pageSize);
+        return response.body(relations.apply("comments", page.getItems(), embed, expand));
+    }
+}
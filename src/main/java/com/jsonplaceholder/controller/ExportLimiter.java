@@ -0,0 +1,38 @@
+package com.jsonplaceholder.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the full-table downloads ({@code /users/stream}, {@code /photos}) that run at once.
+ * Each holds a reader connection for as long as the client takes to read it, so without a
+ * cap a handful of slow downloads could drain the reader pool for every other request.
+ * Downloads over the cap are refused up front and answered with 503.
+ */
+@Component
+class ExportLimiter {
+
+    private final Semaphore permits;
+
+    ExportLimiter(@Value("${exports.max-concurrent:2}") int maxConcurrent) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    // Takes the permit now, while a 503 can still be sent, and returns it once the body is written
+    StreamingResponseBody limit(StreamingResponseBody body) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Too many exports in progress");
+        }
+        return outputStream -> {
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
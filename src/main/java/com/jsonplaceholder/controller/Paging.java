@@ -0,0 +1,39 @@
+package com.jsonplaceholder.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Page size clamping and {@code Link: rel="next"} headers shared by the listing endpoints.
+ */
+@Component
+class Paging {
+
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    Paging(
+            @Value("${pagination.default-limit:100}") int defaultLimit,
+            @Value("${pagination.max-limit:1000}") int maxLimit) {
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    int pageSize(Integer limit) {
+        return limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    // Points at the current request with the cursor parameter moved on; no header on the last page
+    static void addNextLink(ResponseEntity.BodyBuilder response, String cursorParam, Long cursor, int pageSize) {
+        if (cursor != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam(cursorParam, cursor)
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.jsonplaceholder.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.dto.PhotoDto;
+import com.jsonplaceholder.service.PhotoService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@RestController
+public class PhotoController {
+    private final PhotoService photoService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter photoWriter;
+    private final Paging paging;
+    private final Relations relations;
+    private final ExportLimiter exportLimiter;
+
+    public PhotoController(
+            PhotoService photoService,
+            ObjectMapper objectMapper,
+            Paging paging,
+            Relations relations,
+            ExportLimiter exportLimiter) {
+        this.photoService = photoService;
+        this.objectMapper = objectMapper;
+        this.photoWriter = objectMapper.writerFor(PhotoDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.paging = paging;
+        this.relations = relations;
+        this.exportLimiter = exportLimiter;
+    }
+
+    // The whole table as one JSON array, as upstream, written row by row from a database cursor
+    @GetMapping("/photos")
+    public ResponseEntity<StreamingResponseBody> getAllPhotos(
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        Relations.reject("on the full /photos listing; use /photos?albumId=", embed, expand);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                photoService.streamAllPhotos(photo -> {
+                    try {
+                        photoWriter.writeValue(generator, photo);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(exportLimiter.limit(body));
+    }
+
+    // ?albumId= mirrors upstream's /photos?albumId=1 and is keyset paginated like /albums/{id}/photos
+    @GetMapping(value = "/photos", params = "albumId")
+    public ResponseEntity<List<?>> getPhotosByAlbumParam(
+            @RequestParam Long albumId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        return getPhotosByAlbum(albumId, after, limit, embed, expand);
+    }
+
+    @GetMapping("/photos/{id}")
+    public ResponseEntity<?> getPhotoById(
+            @PathVariable Long id,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("photos", embed, expand);
+        return ResponseEntity.ok(relations.apply("photos", photoService.getPhotoById(id), embed, expand));
+    }
+
+    @GetMapping("/albums/{albumId}/photos")
+    public ResponseEntity<List<?>> getPhotosByAlbum(
+            @PathVariable Long albumId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("photos", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        CursorPage<PhotoDto> page = photoService.getPhotosByAlbum(albumId, after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        Paging.addNextLink(response, "after", page.getNextCursor(), pageSize);
+        return response.body(relations.apply("photos", page.getItems(), embed, expand));
+    }
+}
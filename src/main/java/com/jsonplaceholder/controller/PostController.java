@@ -0,0 +1,62 @@
+package com.jsonplaceholder.controller;
+
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.dto.PostDto;
+import com.jsonplaceholder.service.PostService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+public class PostController {
+    private final PostService postService;
+    private final Paging paging;
+    private final Relations relations;
+
+    public PostController(PostService postService, Paging paging, Relations relations) {
+        this.postService = postService;
+        this.paging = paging;
+        this.relations = relations;
+    }
+
+    @GetMapping("/posts")
+    public ResponseEntity<List<?>> getAllPosts(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("posts", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        return pageResponse(postService.getAllPosts(after, pageSize), pageSize, embed, expand);
+    }
+
+    @GetMapping("/posts/{id}")
+    public ResponseEntity<?> getPostById(
+            @PathVariable Long id,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("posts", embed, expand);
+        return ResponseEntity.ok(relations.apply("posts", postService.getPostById(id), embed, expand));
+    }
+
+    // Unknown users simply have no posts, as upstream
+    @GetMapping("/users/{userId}/posts")
+    public ResponseEntity<List<?>> getPostsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("posts", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        return pageResponse(postService.getPostsByUser(userId, after, pageSize), pageSize, embed, expand);
+    }
+
+    private ResponseEntity<List<?>> pageResponse(
+            CursorPage<PostDto> page, int pageSize, List<String> embed, List<String> expand) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        Paging.addNextLink(response, "after", page.getNextCursor(), pageSize);
+        return response.body(relations.apply("posts", page.getItems(), embed, expand));
+    }
+}
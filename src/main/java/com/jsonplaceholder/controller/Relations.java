@@ -0,0 +1,135 @@
+package com.jsonplaceholder.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jsonplaceholder.service.AlbumService;
+import com.jsonplaceholder.service.CommentService;
+import com.jsonplaceholder.service.PhotoService;
+import com.jsonplaceholder.service.PostService;
+import com.jsonplaceholder.service.TodoService;
+import com.jsonplaceholder.service.UserService;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * json-server style {@code _embed} (children, by {@code <resource>Id}) and {@code _expand}
+ * (the parent named by {@code <relation>Id}). Each relation is loaded for the whole page with
+ * one {@code IN} query, so the statement count does not grow with the page size.
+ */
+@Component
+class Relations {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Map<String, Loader>> embeds;
+    private final Map<String, Map<String, Loader>> expands;
+
+    Relations(
+            ObjectMapper objectMapper,
+            UserService userService,
+            PostService postService,
+            CommentService commentService,
+            AlbumService albumService,
+            PhotoService photoService,
+            TodoService todoService) {
+        this.objectMapper = objectMapper;
+        this.embeds = Map.of(
+                "users", Map.of(
+                        "posts", postService::getPostsByUsers,
+                        "albums", albumService::getAlbumsByUsers,
+                        "todos", todoService::getTodosByUsers),
+                "posts", Map.of("comments", commentService::getCommentsByPosts),
+                "albums", Map.of("photos", photoService::getPhotosByAlbums));
+        this.expands = Map.of(
+                "posts", Map.of("user", userService::getUsersByIds),
+                "comments", Map.of("post", postService::getPostsByIds),
+                "albums", Map.of("user", userService::getUsersByIds),
+                "photos", Map.of("album", albumService::getAlbumsByIds),
+                "todos", Map.of("user", userService::getUsersByIds));
+    }
+
+    // Items come back untouched when nothing was asked for, so plain requests skip the tree copy
+    List<?> apply(String resource, List<?> items, List<String> embed, List<String> expand) {
+        if (isEmpty(embed) && isEmpty(expand)) {
+            return items;
+        }
+        Map<String, Loader> embedLoaders = loaders(embeds, resource, embed);
+        Map<String, Loader> expandLoaders = loaders(expands, resource, expand);
+
+        List<ObjectNode> nodes = items.stream()
+                .map(item -> (ObjectNode) objectMapper.valueToTree(item))
+                .toList();
+        embedLoaders.forEach((relation, loader) -> attach(nodes, relation, "id", loader, List.of()));
+        expandLoaders.forEach((relation, loader) -> attach(nodes, relation, relation + "Id", loader, null));
+        return nodes;
+    }
+
+    Object apply(String resource, Object item, List<String> embed, List<String> expand) {
+        return apply(resource, List.of(item), embed, expand).get(0);
+    }
+
+    // Handlers call this first, so an unknown name is refused before the page query runs
+    void validate(String resource, List<String> embed, List<String> expand) {
+        loaders(embeds, resource, embed);
+        loaders(expands, resource, expand);
+    }
+
+    // For handlers that cannot attach relations; ignoring them would pass for "no children"
+    static void reject(String unsupportedContext, List<String> embed, List<String> expand) {
+        List<String> names = isEmpty(embed) ? expand : embed;
+        if (!isEmpty(names)) {
+            throw new UnknownRelationException(names.get(0).trim(), unsupportedContext);
+        }
+    }
+
+    private void attach(List<ObjectNode> nodes, String relation, String key, Loader loader, Object missing) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (ObjectNode node : nodes) {
+            if (node.hasNonNull(key)) {
+                ids.add(node.get(key).asLong());
+            }
+        }
+        Map<Long, ?> related = loader.load(ids);
+        for (ObjectNode node : nodes) {
+            Object value = node.hasNonNull(key) ? related.get(node.get(key).asLong()) : null;
+            if (value == null) {
+                value = missing;
+            }
+            if (value != null) {
+                node.set(relation, objectMapper.valueToTree(value));
+            }
+        }
+    }
+
+    // Validates every name before any query runs
+    private static Map<String, Loader> loaders(
+            Map<String, Map<String, Loader>> relations, String resource, List<String> names) {
+        if (isEmpty(names)) {
+            return Map.of();
+        }
+        Map<String, Loader> known = relations.getOrDefault(resource, Map.of());
+        Map<String, Loader> selected = new LinkedHashMap<>();
+        for (String name : names) {
+            Loader loader = known.get(name.trim());
+            if (loader == null) {
+                throw new UnknownRelationException(name.trim());
+            }
+            selected.put(name.trim(), loader);
+        }
+        return selected;
+    }
+
+    private static boolean isEmpty(List<String> names) {
+        return names == null || names.isEmpty();
+    }
+
+    @FunctionalInterface
+    private interface Loader {
+        Map<Long, ?> load(Collection<Long> ids);
+    }
+}
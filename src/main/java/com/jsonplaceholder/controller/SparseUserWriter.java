@@ -0,0 +1,81 @@
+package com.jsonplaceholder.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jsonplaceholder.repository.UserField;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes sparse user rows straight to a {@link JsonGenerator}, rebuilding the nested
+ * {@code address}, {@code address.geo} and {@code company} objects from the field paths
+ * instead of going through {@code UserDto}.
+ */
+final class SparseUserWriter {
+
+    private final Set<UserField> requested;
+    private final UserField[] columns;
+
+    // Rows carry the id first even when it was not requested (see UserSearchRepository)
+    SparseUserWriter(Set<UserField> requested) {
+        this.requested = requested;
+        EnumSet<UserField> columns = EnumSet.copyOf(requested);
+        columns.add(UserField.ID);
+        this.columns = columns.toArray(new UserField[0]);
+    }
+
+    void writeArray(JsonGenerator generator, List<Object[]> rows) throws IOException {
+        generator.writeStartArray();
+        for (Object[] row : rows) {
+            writeObject(generator, row);
+        }
+        generator.writeEndArray();
+    }
+
+    void writeObject(JsonGenerator generator, Object[] row) throws IOException {
+        generator.writeStartObject();
+        List<String> open = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            UserField field = columns[i];
+            if (!requested.contains(field)) {
+                continue;
+            }
+            List<String> segments = field.segments();
+            List<String> parents = segments.subList(0, segments.size() - 1);
+
+            int common = 0;
+            while (common < open.size() && common < parents.size() && open.get(common).equals(parents.get(common))) {
+                common++;
+            }
+            while (open.size() > common) {
+                generator.writeEndObject();
+                open.remove(open.size() - 1);
+            }
+            while (open.size() < parents.size()) {
+                String parent = parents.get(open.size());
+                generator.writeObjectFieldStart(parent);
+                open.add(parent);
+            }
+
+            generator.writeFieldName(segments.get(segments.size() - 1));
+            writeValue(generator, row[i]);
+        }
+        for (int i = 0; i < open.size(); i++) {
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Number number) {
+            generator.writeNumber(number.longValue());
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.jsonplaceholder.controller;
+
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.dto.TodoDto;
+import com.jsonplaceholder.dto.TodoStatsDto;
+import com.jsonplaceholder.service.TodoService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+public class TodoController {
+    private final TodoService todoService;
+    private final Paging paging;
+    private final Relations relations;
+
+    public TodoController(TodoService todoService, Paging paging, Relations relations) {
+        this.todoService = todoService;
+        this.paging = paging;
+        this.relations = relations;
+    }
+
+    // ?userId= and ?completed= mirror upstream's /todos?userId=1&completed=false
+    @GetMapping("/todos")
+    public ResponseEntity<List<?>> getAllTodos(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("todos", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        return pageResponse(todoService.getTodos(userId, completed, after, pageSize), pageSize, embed, expand);
+    }
+
+    @GetMapping("/todos/{id}")
+    public ResponseEntity<?> getTodoById(
+            @PathVariable Long id,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("todos", embed, expand);
+        return ResponseEntity.ok(relations.apply("todos", todoService.getTodoById(id), embed, expand));
+    }
+
+    @GetMapping("/users/{userId}/todos")
+    public ResponseEntity<List<?>> getTodosByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("todos", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        return pageResponse(todoService.getTodos(userId, completed, after, pageSize), pageSize, embed, expand);
+    }
+
+    @GetMapping("/users/{userId}/todos/stats")
+    public ResponseEntity<TodoStatsDto> getTodoStats(@PathVariable Long userId) {
+        return ResponseEntity.ok(todoService.getTodoStats(userId));
+    }
+
+    @PostMapping("/todos")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<TodoDto> createTodo(@Valid @RequestBody TodoDto todoDto) {
+        return ResponseEntity.ok(todoService.createTodo(todoDto));
+    }
+
+    @PatchMapping("/todos/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<TodoDto> updateTodo(@PathVariable Long id, @RequestBody TodoDto changes) {
+        return ResponseEntity.ok(todoService.updateTodo(id, changes));
+    }
+
+    @DeleteMapping("/todos/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> deleteTodo(@PathVariable Long id) {
+        todoService.deleteTodo(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<List<?>> pageResponse(
+            CursorPage<TodoDto> page, int pageSize, List<String> embed, List<String> expand) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        Paging.addNextLink(response, "after", page.getNextCursor(), pageSize);
+        return response.body(relations.apply("todos", page.getItems(), embed, expand));
+    }
+}
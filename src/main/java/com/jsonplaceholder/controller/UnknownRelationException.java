@@ -0,0 +1,13 @@
+package com.jsonplaceholder.controller;
+
+public class UnknownRelationException extends RuntimeException {
+
+    public UnknownRelationException(String relation) {
+        super("Unknown relation: " + relation);
+    }
+
+    // A known relation asked for where it cannot be attached, e.g. "together with q"
+    public UnknownRelationException(String relation, String unsupportedContext) {
+        super("Relation " + relation + " is not supported " + unsupportedContext);
+    }
+}
@@ -1,31 +1,285 @@
 package com.jsonplaceholder.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jsonplaceholder.cache.UserResponseCache;
+import com.jsonplaceholder.cache.UserResponseCache.CachedResponse;
+import com.jsonplaceholder.dto.BatchItemResult;
+import com.jsonplaceholder.dto.CursorPage;
 import com.jsonplaceholder.dto.UserDto;
+import com.jsonplaceholder.repository.UserField;
+import com.jsonplaceholder.repository.UserFilter;
 import com.jsonplaceholder.service.UserService;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/users")
 public class UserController {
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final UserService userService;
+    private final UserResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter ndjsonWriter;
+    private final Paging paging;
+    private final Relations relations;
+    private final ExportLimiter exportLimiter;
+    private final int maxBatchSize;
 
-    public UserController(UserService userService) {
+    public UserController(
+            UserService userService,
+            UserResponseCache responseCache,
+            ObjectMapper objectMapper,
+            Paging paging,
+            Relations relations,
+            ExportLimiter exportLimiter,
+            @Value("${batch.max-size:1000}") int maxBatchSize) {
         this.userService = userService;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.ndjsonWriter = objectMapper.writerFor(UserDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.paging = paging;
+        this.relations = relations;
+        this.exportLimiter = exportLimiter;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "username", required = false) List<String> usernames,
+            @RequestParam(name = "email", required = false) List<String> emails,
+            @RequestParam(name = "address.city", required = false) List<String> cities,
+            @RequestParam(name = "address.zipcode", required = false) List<String> zipcodes,
+            @RequestParam(name = "company.name", required = false) List<String> companyNames,
+            @RequestParam(name = "_expand", required = false) List<String> expand,
+            WebRequest request) {
+        relations.validate("users", null, expand);
+        int pageSize = paging.pageSize(limit);
+        UserFilter filter = new UserFilter(usernames, emails, cities, zipcodes, companyNames);
+
+        // Read the version before the page: a write landing in between only makes the tag older
+        String etag = listEtag(pageSize);
+        if (notModified(request, etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+        if (!filter.isEmpty()) {
+            // Filtered pages are not cached; counting their matches would cost a scan per page
+            CursorPage<UserDto> page = userService.getAllUsers(after, pageSize, filter);
+            Paging.addNextLink(response, "after", page.getNextCursor(), pageSize);
+            return response.body(page.getItems());
+        }
+
+        Object key = UserResponseCache.page(after == null ? 0L : after, pageSize);
+        CachedResponse cached = responseCache.get(key, etag);
+        if (cached == null) {
+            CursorPage<UserDto> page = userService.getAllUsers(after, pageSize, filter);
+            cached = responseCache.put(key, etag, page.getItems(), page.getNextCursor());
+        }
+        userService.getApproximateUserCount()
+                .ifPresent(count -> response.header("X-Total-Count", Long.toString(count)));
+        Paging.addNextLink(response, "after", cached.nextCursor(), pageSize);
+        return cachedBody(response, cached, request);
+    }
+
+    // Sparse fieldsets: only the selected columns are read, and rows are written without UserDto
+    @GetMapping(params = "fields")
+    public ResponseEntity<StreamingResponseBody> getAllUserFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "username", required = false) List<String> usernames,
+            @RequestParam(name = "email", required = false) List<String> emails,
+            @RequestParam(name = "address.city", required = false) List<String> cities,
+            @RequestParam(name = "address.zipcode", required = false) List<String> zipcodes,
+            @RequestParam(name = "company.name", required = false) List<String> companyNames,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand,
+            WebRequest request) {
+        Relations.reject("together with fields", embed, expand);
+        Set<UserField> selected = UserField.parse(fields);
+        int pageSize = paging.pageSize(limit);
+        UserFilter filter = new UserFilter(usernames, emails, cities, zipcodes, companyNames);
+
+        String etag = listEtag(pageSize);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPage<Object[]> page = userService.getUserFields(selected, after, pageSize, filter);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+        Paging.addNextLink(response, "after", page.getNextCursor(), pageSize);
+        SparseUserWriter writer = new SparseUserWriter(selected);
+        return response.body(outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                writer.writeArray(generator, page.getItems());
+            }
+        });
+    }
+
+    // json-server style ?_embed=posts,albums,todos; the response cache only holds plain users
+    @GetMapping(params = {"_embed", "!fields", "!q"})
+    public ResponseEntity<List<?>> getAllUsersWithRelations(
+            @RequestParam(name = "_embed") List<String> embed,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "username", required = false) List<String> usernames,
+            @RequestParam(name = "email", required = false) List<String> emails,
+            @RequestParam(name = "address.city", required = false) List<String> cities,
+            @RequestParam(name = "address.zipcode", required = false) List<String> zipcodes,
+            @RequestParam(name = "company.name", required = false) List<String> companyNames,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("users", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        UserFilter filter = new UserFilter(usernames, emails, cities, zipcodes, companyNames);
+        CursorPage<UserDto> page = userService.getAllUsers(after, pageSize, filter);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        Paging.addNextLink(response, "after", page.getNextCursor(), pageSize);
+        return response.body(relations.apply("users", page.getItems(), embed, expand));
+    }
+
+    @GetMapping(params = "q")
+    public ResponseEntity<List<UserDto>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "0") long offset,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand,
+            WebRequest request) {
+        Relations.reject("together with q", embed, expand);
+        int pageSize = paging.pageSize(limit);
+        long start = Math.max(0, offset);
+
+        String etag = "users-search-" + userService.getUsersVersion() + "-" + start + "-" + pageSize;
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPage<UserDto> page = userService.searchUsers(q, start, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+        Paging.addNextLink(response, "offset", page.getNextCursor(), pageSize);
+        return response.body(page.getItems());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllUsersAsNdjson() {
+        return streamUsers();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                userService.streamAllUsers(user -> {
+                    try {
+                        ndjsonWriter.writeValue(generator, user);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportLimiter.limit(body));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<byte[]> getUserById(
+            @PathVariable Long id,
+            @RequestParam(name = "_expand", required = false) List<String> expand,
+            WebRequest request) {
+        relations.validate("users", null, expand);
+        Object key = UserResponseCache.item(id);
+        OptionalLong version = userService.getUserVersion(id);
+        CachedResponse cached = null;
+        if (version.isPresent()) {
+            String etag = userEtag(id, version.getAsLong());
+            if (notModified(request, etag)) {
+                return null;
+            }
+            cached = responseCache.get(key, etag);
+        }
+        if (cached == null) {
+            UserDto user = userService.getUserById(id);
+            cached = responseCache.put(key, userEtag(id, user.getVersion()), user, null);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(cached.etag())
+                .cacheControl(CacheControl.noCache());
+        return cachedBody(response, cached, request);
+    }
+
+    @GetMapping(value = "/{id}", params = {"_embed", "!fields"})
+    public ResponseEntity<?> getUserByIdWithRelations(
+            @PathVariable Long id,
+            @RequestParam(name = "_embed") List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand) {
+        relations.validate("users", embed, expand);
+        return ResponseEntity.ok(relations.apply("users", userService.getUserById(id), embed, expand));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<StreamingResponseBody> getUserFieldsById(
+            @PathVariable Long id,
+            @RequestParam String fields,
+            @RequestParam(name = "_embed", required = false) List<String> embed,
+            @RequestParam(name = "_expand", required = false) List<String> expand,
+            WebRequest request) {
+        Relations.reject("together with fields", embed, expand);
+        Set<UserField> selected = UserField.parse(fields);
+        OptionalLong version = userService.getUserVersion(id);
+        if (version.isEmpty()) {
+            throw new EntityNotFoundException("User not found with id: " + id);
+        }
+        if (request.checkNotModified(userEtag(id, version.getAsLong()))) {
+            return null;
+        }
+        Object[] row = userService.getUserFieldsById(id, selected);
+
+        SparseUserWriter writer = new SparseUserWriter(selected);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(userEtag(id, version.getAsLong()))
+                .cacheControl(CacheControl.noCache())
+                .body(outputStream -> {
+                    try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                        writer.writeObject(generator, row);
+                    }
+                });
     }
 
     @PostMapping
@@ -40,10 +294,115 @@ public class UserController {
         return ResponseEntity.ok(userService.updateUser(id, userDto));
     }
 
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UserDto> patchUser(@PathVariable Long id, @RequestBody JsonNode mergePatch) {
+        UserDto user = userService.patchUser(id, mergePatch);
+        return ResponseEntity.ok()
+                .eTag(userEtag(id, user.getVersion()))
+                .body(user);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    // Batch endpoints apply all items in one transaction and answer with one result per item,
+    // in request order, each carrying the status the single-item endpoint would have returned
+
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<BatchItemResult>> createUsers(@RequestBody List<UserDto> userDtos) {
+        if (userDtos.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(userService.createUsers(userDtos));
+    }
+
+    @PutMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<BatchItemResult>> updateUsers(@RequestBody List<UserDto> userDtos) {
+        if (userDtos.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(userService.updateUsers(userDtos));
+    }
+
+    @DeleteMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<BatchItemResult>> deleteUsers(@RequestBody List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(userService.deleteUsers(ids));
+    }
+
+    // Cached bodies go out as-is through the byte[] converter; gzip only when the client accepts it.
+    // Strong tags must differ per encoding, so the gzip body carries its own.
+    private static ResponseEntity<byte[]> cachedBody(
+            ResponseEntity.BodyBuilder response, CachedResponse cached, WebRequest request) {
+        response.contentType(MediaType.APPLICATION_JSON).varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (cached.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.eTag(gzipEtag(cached.etag()))
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(cached.gzip());
+        }
+        return response.body(cached.identity());
+    }
+
+    // Revalidates against whichever encoding's tag the client holds
+    private static boolean notModified(WebRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String gzipEtag = gzipEtag(etag);
+        if (ifNoneMatch != null && ifNoneMatch.contains("\"" + gzipEtag + "\"")) {
+            return request.checkNotModified(gzipEtag);
+        }
+        return request.checkNotModified(etag);
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag + "-gzip";
+    }
+
+    // Honours q-values: "gzip;q=0" refuses gzip, and "*" covers gzip when it is not listed
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim();
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 1 && Character.toLowerCase(param.charAt(0)) == 'q' && param.charAt(1) == '=') {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException ex) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : anyQuality;
+        return quality != null && quality > 0;
+    }
+
+    private String listEtag(int pageSize) {
+        return "users-" + userService.getUsersVersion() + "-" + pageSize;
+    }
+
+    private static String userEtag(Long id, long version) {
+        return "user-" + id + "-" + version;
+    }
+}
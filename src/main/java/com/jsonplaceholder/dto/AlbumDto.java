@@ -0,0 +1,10 @@
+package com.jsonplaceholder.dto;
+
+import lombok.Data;
+
+@Data
+public class AlbumDto {
+    private Long id;
+    private Long userId;
+    private String title;
+}
@@ -0,0 +1,21 @@
+package com.jsonplaceholder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+    private int status;
+    private Long id;
+    private UserDto data;
+    private String error;
+
+    public static BatchItemResult success(int status, Long id, UserDto data) {
+        return new BatchItemResult(status, id, data, null);
+    }
+
+    public static BatchItemResult failure(int status, Long id, String error) {
+        return new BatchItemResult(status, id, null, error);
+    }
+}
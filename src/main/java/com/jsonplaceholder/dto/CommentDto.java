@@ -0,0 +1,24 @@
+package com.jsonplaceholder.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class CommentDto {
+    private Long id;
+
+    @NotNull
+    private Long postId;
+
+    @NotBlank
+    private String name;
+
+    @NotBlank
+    @Email
+    private String email;
+
+    @NotBlank
+    private String body;
+}
@@ -0,0 +1,33 @@
+package com.jsonplaceholder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private Long nextCursor;
+
+    // Ids start at 1, so no cursor means "after 0"
+    public static long startAfter(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * Builds a keyset page from {@code limit + 1} rows: the extra row only tells whether a next
+     * page exists, which saves a COUNT query. The next cursor is the id of the last item kept.
+     */
+    public static <R, T> CursorPage<T> of(List<R> rows, int limit, Function<R, T> mapper, Function<T, Long> idGetter) {
+        List<T> items = rows.stream()
+                .limit(limit)
+                .map(mapper)
+                .collect(Collectors.toList());
+        Long nextCursor = rows.size() > limit ? idGetter.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+}
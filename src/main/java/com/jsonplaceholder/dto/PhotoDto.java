@@ -0,0 +1,12 @@
+package com.jsonplaceholder.dto;
+
+import lombok.Data;
+
+@Data
+public class PhotoDto {
+    private Long id;
+    private Long albumId;
+    private String title;
+    private String url;
+    private String thumbnailUrl;
+}
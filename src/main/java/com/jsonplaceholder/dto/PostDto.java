@@ -0,0 +1,12 @@
+package com.jsonplaceholder.dto;
+
+import lombok.Data;
+
+@Data
+public class PostDto {
+    private Long id;
+    private Long userId;
+    private String title;
+    private String body;
+    private Long commentCount;
+}
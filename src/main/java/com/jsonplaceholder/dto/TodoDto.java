@@ -0,0 +1,18 @@
+package com.jsonplaceholder.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class TodoDto {
+    private Long id;
+
+    @NotNull
+    private Long userId;
+
+    @NotBlank
+    private String title;
+
+    private Boolean completed;
+}
@@ -0,0 +1,12 @@
+package com.jsonplaceholder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TodoStatsDto {
+    private Long userId;
+    private long open;
+    private long done;
+}
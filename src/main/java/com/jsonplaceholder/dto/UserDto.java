@@ -1,5 +1,6 @@
 package com.jsonplaceholder.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 @Data
@@ -12,4 +13,8 @@ public class UserDto {
     private String phone;
     private String website;
     private CompanyDto company;
+
+    // Backs the ETag header; not part of the JSON body
+    @JsonIgnore
+    private Long version;
 } 
\ No newline at end of file
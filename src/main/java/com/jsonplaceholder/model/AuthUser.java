@@ -1,11 +1,13 @@
 package com.jsonplaceholder.model;
 
+import com.jsonplaceholder.security.AuthUserEntityListener;
 import jakarta.persistence.*;
 import lombok.Data;
 
 @Data
 @Entity
 @Table(name = "auth_users")
+@EntityListeners(AuthUserEntityListener.class)
 public class AuthUser {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,7 +18,7 @@ public class AuthUser {
     private String email;
     private String passwordHash;
     
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 } 
\ No newline at end of file
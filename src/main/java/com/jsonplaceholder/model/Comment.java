@@ -0,0 +1,26 @@
+package com.jsonplaceholder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "comments")
+public class Comment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(columnDefinition = "INTEGER")
+    private Long id;
+
+    @Column(name = "post_id", nullable = false, columnDefinition = "INTEGER")
+    private Long postId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    private String body;
+}
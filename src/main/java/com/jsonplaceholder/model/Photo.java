@@ -0,0 +1,26 @@
+package com.jsonplaceholder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "photos")
+public class Photo {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(columnDefinition = "INTEGER")
+    private Long id;
+
+    @Column(name = "album_id", nullable = false, columnDefinition = "INTEGER")
+    private Long albumId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String url;
+
+    @Column(name = "thumbnail_url", nullable = false)
+    private String thumbnailUrl;
+}
@@ -0,0 +1,29 @@
+package com.jsonplaceholder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "posts")
+public class Post {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(columnDefinition = "INTEGER")
+    private Long id;
+
+    // A plain foreign key rather than a @ManyToOne, so listing posts never loads users
+    @Column(name = "user_id", nullable = false, columnDefinition = "INTEGER")
+    private Long userId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String body;
+
+    // Maintained by triggers on comments (see V8 migration); never written from here
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "INTEGER")
+    private Long commentCount;
+}
@@ -0,0 +1,23 @@
+package com.jsonplaceholder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "todos")
+public class Todo {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(columnDefinition = "INTEGER")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "INTEGER")
+    private Long userId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, columnDefinition = "INTEGER")
+    private Boolean completed;
+}
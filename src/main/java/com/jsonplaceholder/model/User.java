@@ -34,4 +34,8 @@ public class User {
         @AttributeOverride(name = "bs", column = @Column(name = "company_bs"))
     })
     private Company company;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "INTEGER")
+    private Long version;
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.jsonplaceholder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+// Written only by the triggers on todos (see V9 migration)
+@Data
+@Entity
+@Immutable
+@Table(name = "user_todo_stats")
+public class UserTodoStats {
+    @Id
+    @Column(name = "user_id", columnDefinition = "INTEGER")
+    private Long userId;
+
+    @Column(name = "open_count", nullable = false, columnDefinition = "INTEGER")
+    private Long openCount;
+
+    @Column(name = "done_count", nullable = false, columnDefinition = "INTEGER")
+    private Long doneCount;
+}
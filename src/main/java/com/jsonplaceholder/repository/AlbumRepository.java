@@ -0,0 +1,21 @@
+package com.jsonplaceholder.repository;
+
+import com.jsonplaceholder.model.Album;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AlbumRepository extends JpaRepository<Album, Long> {
+
+    // Seek queries, one statement per page: by primary key, and by idx_albums_user_id (see V10 migration)
+    List<Album> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Album> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long after, Limit limit);
+
+    // All albums of a page of users in one statement, for ?_embed=albums
+    List<Album> findByUserIdInOrderByIdAsc(Collection<Long> userIds);
+}
@@ -2,7 +2,10 @@ package com.jsonplaceholder.repository;
 
 import com.jsonplaceholder.model.AuthUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -10,4 +13,9 @@ import java.util.Optional;
 public interface AuthUserRepository extends JpaRepository<AuthUser, Long> {
     Optional<AuthUser> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Fetches the user as well, so the result is usable once this short read transaction ends
+    @Transactional(readOnly = true)
+    @Query("select a from AuthUser a left join fetch a.user where a.email = :email")
+    Optional<AuthUser> findWithUserByEmail(@Param("email") String email);
 } 
\ No newline at end of file
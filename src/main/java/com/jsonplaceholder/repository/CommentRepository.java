@@ -0,0 +1,21 @@
+package com.jsonplaceholder.repository;
+
+import com.jsonplaceholder.model.Comment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    // Seek queries, one statement per page: by primary key, and by idx_comments_post_id (see V8 migration)
+    List<Comment> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Comment> findByPostIdAndIdGreaterThanOrderByIdAsc(Long postId, Long after, Limit limit);
+
+    // All comments of a page of posts in one statement, for ?_embed=comments
+    List<Comment> findByPostIdInOrderByIdAsc(Collection<Long> postIds);
+}
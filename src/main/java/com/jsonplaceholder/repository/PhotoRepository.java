@@ -0,0 +1,32 @@
+package com.jsonplaceholder.repository;
+
+import com.jsonplaceholder.model.Photo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface PhotoRepository extends JpaRepository<Photo, Long> {
+
+    // Seek query on idx_photos_album_id (see V10 migration)
+    List<Photo> findByAlbumIdAndIdGreaterThanOrderByIdAsc(Long albumId, Long after, Limit limit);
+
+    // All photos of a page of albums in one statement, for ?_embed=photos
+    List<Photo> findByAlbumIdInOrderByIdAsc(Collection<Long> albumIds);
+
+    // Forward-only cursor for the full listing; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Photo p order by p.id")
+    Stream<Photo> streamAllOrderedById();
+}
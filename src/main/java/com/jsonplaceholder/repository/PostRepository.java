@@ -0,0 +1,21 @@
+package com.jsonplaceholder.repository;
+
+import com.jsonplaceholder.model.Post;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostRepository extends JpaRepository<Post, Long> {
+
+    // Seek queries, one statement per page: by primary key, and by idx_posts_user_id (see V7 migration)
+    List<Post> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Post> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long after, Limit limit);
+
+    // All posts of a page of users in one statement, for ?_embed=posts
+    List<Post> findByUserIdInOrderByIdAsc(Collection<Long> userIds);
+}
@@ -0,0 +1,33 @@
+package com.jsonplaceholder.repository;
+
+import com.jsonplaceholder.model.Todo;
+import com.jsonplaceholder.model.UserTodoStats;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TodoRepository extends JpaRepository<Todo, Long> {
+
+    // Seek queries, one statement per page; the per-user ones use idx_todos_user_id_completed (see V9 migration)
+    List<Todo> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Todo> findByCompletedAndIdGreaterThanOrderByIdAsc(Boolean completed, Long after, Limit limit);
+
+    List<Todo> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long after, Limit limit);
+
+    List<Todo> findByUserIdAndCompletedAndIdGreaterThanOrderByIdAsc(
+            Long userId, Boolean completed, Long after, Limit limit);
+
+    // All todos of a page of users in one statement, for ?_embed=todos
+    List<Todo> findByUserIdInOrderByIdAsc(Collection<Long> userIds);
+
+    @Query("select s from UserTodoStats s where s.userId = :userId")
+    Optional<UserTodoStats> findStatsByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,8 @@
+package com.jsonplaceholder.repository;
+
+public class UnknownFieldException extends RuntimeException {
+
+    public UnknownFieldException(String field) {
+        super("Unknown field: " + field);
+    }
+}
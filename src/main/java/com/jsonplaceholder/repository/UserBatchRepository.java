@@ -0,0 +1,15 @@
+package com.jsonplaceholder.repository;
+
+import com.jsonplaceholder.model.User;
+
+import java.util.List;
+import java.util.Map;
+
+public interface UserBatchRepository {
+
+    // Inserts through one JDBC batch and returns the generated ids in input order
+    List<Long> insertAll(List<User> users);
+
+    // UPDATE of only the given columns plus the version, without loading the row; returns rows changed
+    int updateColumns(long id, Map<UserField, String> values);
+}
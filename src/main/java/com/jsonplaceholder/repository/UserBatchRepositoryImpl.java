@@ -0,0 +1,92 @@
+package com.jsonplaceholder.repository;
+
+import com.jsonplaceholder.model.Address;
+import com.jsonplaceholder.model.Company;
+import com.jsonplaceholder.model.Geo;
+import com.jsonplaceholder.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC write paths Hibernate handles poorly. Bulk creates: {@code User} uses IDENTITY ids,
+ * which forces Hibernate to issue and round-trip every insert on its own. Partial updates:
+ * Hibernate would SELECT the row first and then write every column back.
+ */
+class UserBatchRepositoryImpl implements UserBatchRepository {
+
+    private static final String INSERT_USER = "INSERT INTO users (name, username, email, street, suite, city, "
+            + "zipcode, lat, lng, phone, website, company_name, company_catch_phrase, company_bs) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    UserBatchRepositoryImpl(JdbcTemplate jdbcTemplate, @Value("${batch.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, users, batchSize, this::bindUser);
+
+        // sqlite-jdbc only reports the key of the last row in a batch. AUTOINCREMENT gives each
+        // row max(id) + 1 and this transaction holds the write lock, so the batch received a
+        // contiguous block of ids ending at last_insert_rowid().
+        Long lastId = jdbcTemplate.queryForObject("SELECT last_insert_rowid()", Long.class);
+        long firstId = lastId - users.size() + 1;
+        List<Long> ids = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            ids.add(firstId + i);
+        }
+        return ids;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int updateColumns(long id, Map<UserField, String> values) {
+        StringBuilder sql = new StringBuilder("UPDATE users SET ");
+        List<Object> args = new ArrayList<>(values.size() + 1);
+        values.forEach((field, value) -> {
+            sql.append(field.column()).append(" = ?, ");
+            args.add(value);
+        });
+        // Keeps optimistic locking and the per-user ETag in step with Hibernate's own updates
+        sql.append("version = version + 1 WHERE id = ?");
+        args.add(id);
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private void bindUser(PreparedStatement ps, User user) throws SQLException {
+        Address address = user.getAddress();
+        Geo geo = address == null ? null : address.getGeo();
+        Company company = user.getCompany();
+
+        ps.setString(1, user.getName());
+        ps.setString(2, user.getUsername());
+        ps.setString(3, user.getEmail());
+        ps.setString(4, address == null ? null : address.getStreet());
+        ps.setString(5, address == null ? null : address.getSuite());
+        ps.setString(6, address == null ? null : address.getCity());
+        ps.setString(7, address == null ? null : address.getZipcode());
+        ps.setString(8, geo == null ? null : geo.getLat());
+        ps.setString(9, geo == null ? null : geo.getLng());
+        ps.setString(10, user.getPhone());
+        ps.setString(11, user.getWebsite());
+        ps.setString(12, company == null ? null : company.getName());
+        ps.setString(13, company == null ? null : company.getCatchPhrase());
+        ps.setString(14, company == null ? null : company.getBs());
+    }
+}
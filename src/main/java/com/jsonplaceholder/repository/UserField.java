@@ -0,0 +1,81 @@
+package com.jsonplaceholder.repository;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Selectable user attributes for sparse fieldsets, by JSON path and {@code users} column.
+ * Declared in {@code UserDto} order with nested fields kept together, so iterating an
+ * {@link EnumSet} visits each nested object in one run.
+ */
+public enum UserField {
+    ID("id", "id"),
+    NAME("name", "name"),
+    USERNAME("username", "username"),
+    EMAIL("email", "email"),
+    ADDRESS_STREET("address.street", "street"),
+    ADDRESS_SUITE("address.suite", "suite"),
+    ADDRESS_CITY("address.city", "city"),
+    ADDRESS_ZIPCODE("address.zipcode", "zipcode"),
+    ADDRESS_GEO_LAT("address.geo.lat", "lat"),
+    ADDRESS_GEO_LNG("address.geo.lng", "lng"),
+    PHONE("phone", "phone"),
+    WEBSITE("website", "website"),
+    COMPANY_NAME("company.name", "company_name"),
+    COMPANY_CATCH_PHRASE("company.catchPhrase", "company_catch_phrase"),
+    COMPANY_BS("company.bs", "company_bs");
+
+    private final String path;
+    private final List<String> segments;
+    private final String column;
+
+    UserField(String path, String column) {
+        this.path = path;
+        this.segments = List.of(path.split("\\."));
+        this.column = column;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public List<String> segments() {
+        return segments;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code id,name,address.city}. A nested object
+     * name ({@code address}, {@code address.geo}, {@code company}) selects all of its fields.
+     */
+    public static Set<UserField> parse(String fields) {
+        Set<UserField> selected = EnumSet.noneOf(UserField.class);
+        for (String requested : fields.split(",")) {
+            String name = requested.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            List<UserField> matches = matching(name);
+            if (matches.isEmpty()) {
+                throw new UnknownFieldException(name);
+            }
+            selected.addAll(matches);
+        }
+        if (selected.isEmpty()) {
+            throw new UnknownFieldException(fields);
+        }
+        return selected;
+    }
+
+    // The field at the path, or every field of the nested object at the path
+    public static List<UserField> matching(String path) {
+        return Arrays.stream(values())
+                .filter(field -> field.path.equals(path) || field.path.startsWith(path + "."))
+                .toList();
+    }
+}
@@ -0,0 +1,30 @@
+package com.jsonplaceholder.repository;
+
+import java.util.List;
+
+/**
+ * Equality filters for the user listing. Values within a field are alternatives (IN), fields
+ * are combined with AND; comparisons ignore case. Empty lists do not filter.
+ */
+public record UserFilter(
+        List<String> usernames,
+        List<String> emails,
+        List<String> cities,
+        List<String> zipcodes,
+        List<String> companyNames) {
+
+    public static final UserFilter NONE = new UserFilter(null, null, null, null, null);
+
+    public UserFilter {
+        usernames = usernames == null ? List.of() : List.copyOf(usernames);
+        emails = emails == null ? List.of() : List.copyOf(emails);
+        cities = cities == null ? List.of() : List.copyOf(cities);
+        zipcodes = zipcodes == null ? List.of() : List.copyOf(zipcodes);
+        companyNames = companyNames == null ? List.of() : List.copyOf(companyNames);
+    }
+
+    public boolean isEmpty() {
+        return usernames.isEmpty() && emails.isEmpty() && cities.isEmpty() && zipcodes.isEmpty()
+                && companyNames.isEmpty();
+    }
+}
@@ -1,11 +1,76 @@
 package com.jsonplaceholder.repository;
 
 import com.jsonplaceholder.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    boolean existsByEmail(String email);
-    boolean existsByUsername(String username);
-} 
\ No newline at end of file
+public interface UserRepository extends JpaRepository<User, Long>, UserBatchRepository, UserSearchRepository {
+    String SELECT_USER_ROW = "select new com.jsonplaceholder.repository.UserRow("
+            + "u.id, u.name, u.username, u.email, "
+            + "u.address.street, u.address.suite, u.address.city, u.address.zipcode, "
+            + "u.address.geo.lat, u.address.geo.lng, u.phone, u.website, "
+            + "u.company.name, u.company.catchPhrase, u.company.bs, u.version) "
+            + "from User u ";
+
+    // Case-insensitive to match the NOCASE indexes (see V6 migration); a plain comparison would scan
+    @Query("select case when count(u) > 0 then true else false end from User u "
+            + "where collate(u.email as nocase) = :email")
+    boolean existsByEmail(@Param("email") String email);
+
+    @Query("select case when count(u) > 0 then true else false end from User u "
+            + "where collate(u.username as nocase) = :username")
+    boolean existsByUsername(@Param("username") String username);
+
+    // Seek queries: resolved through the primary key index, so every page costs the same.
+    // Reads use the UserRow projection; the entity variant is kept for benchmark comparisons.
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Row reads are read-only so they reach the reader pool even without a service transaction,
+    // as on a user cache miss
+    @Transactional(readOnly = true)
+    @Query(SELECT_USER_ROW + "where u.id > :after order by u.id")
+    List<UserRow> findRowsAfter(@Param("after") Long after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_USER_ROW + "where u.id = :id")
+    Optional<UserRow> findRowById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_USER_ROW + "where u.id in :ids")
+    List<UserRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from User u order by u.id")
+    Stream<User> streamAllOrderedById();
+
+    // Called before every conditional GET, outside any service transaction: read-only so it
+    // runs on the reader pool instead of queueing for the writer connection
+    @Transactional(readOnly = true)
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Bumped by triggers on every insert, update and delete (see V4 migration)
+    @Transactional(readOnly = true)
+    @Query(value = "select version from table_versions where table_name = 'users'", nativeQuery = true)
+    long findTableVersion();
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
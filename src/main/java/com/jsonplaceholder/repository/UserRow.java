@@ -0,0 +1,25 @@
+package com.jsonplaceholder.repository;
+
+/**
+ * Flat read-only view of a {@code users} row, selected with a JPQL constructor expression.
+ * Nothing is attached to the persistence context, so there is no entity to hydrate or
+ * snapshot for dirty checking.
+ */
+public record UserRow(
+        Long id,
+        String name,
+        String username,
+        String email,
+        String street,
+        String suite,
+        String city,
+        String zipcode,
+        String lat,
+        String lng,
+        String phone,
+        String website,
+        String companyName,
+        String companyCatchPhrase,
+        String companyBs,
+        Long version) {
+}
@@ -0,0 +1,19 @@
+package com.jsonplaceholder.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface UserSearchRepository {
+
+    // Best matches first; the query must already be in FTS5 syntax
+    List<UserRow> search(String ftsQuery, long offset, int limit);
+
+    // Keyset page of the users matching every filter, ordered by id
+    List<UserRow> filterRowsAfter(UserFilter filter, long after, int limit);
+
+    // Sparse rows: the id, then each selected field in declaration order. Only those columns are read.
+    List<Object[]> filterFieldsAfter(Set<UserField> fields, UserFilter filter, long after, int limit);
+
+    Optional<Object[]> findFieldsById(Set<UserField> fields, long id);
+}
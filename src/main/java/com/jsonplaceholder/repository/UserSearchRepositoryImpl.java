@@ -0,0 +1,141 @@
+package com.jsonplaceholder.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over the {@code users_fts} index (see V5 migration), attribute filters
+ * over the NOCASE indexes (see V6 migration) and sparse fieldset reads. JPQL can express
+ * neither the virtual table, the collation nor a select list chosen per request, so these
+ * go through JdbcTemplate.
+ */
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private static final String SELECT_USER_ROW = "SELECT u.id, u.name, u.username, u.email, u.street, u.suite, "
+            + "u.city, u.zipcode, u.lat, u.lng, u.phone, u.website, u.company_name, u.company_catch_phrase, "
+            + "u.company_bs, u.version ";
+
+    // bm25 column weights follow the index column order: name, username, email, city, company_name
+    private static final String SEARCH_USERS = SELECT_USER_ROW
+            + "FROM users_fts JOIN users u ON u.id = users_fts.rowid "
+            + "WHERE users_fts MATCH ? "
+            + "ORDER BY bm25(users_fts, 10.0, 8.0, 4.0, 2.0, 2.0), u.id "
+            + "LIMIT ? OFFSET ?";
+
+    private static final RowMapper<UserRow> USER_ROW = (rs, rowNum) -> new UserRow(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("username"),
+            rs.getString("email"),
+            rs.getString("street"),
+            rs.getString("suite"),
+            rs.getString("city"),
+            rs.getString("zipcode"),
+            rs.getString("lat"),
+            rs.getString("lng"),
+            rs.getString("phone"),
+            rs.getString("website"),
+            rs.getString("company_name"),
+            rs.getString("company_catch_phrase"),
+            rs.getString("company_bs"),
+            rs.getLong("version"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    UserSearchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserRow> search(String ftsQuery, long offset, int limit) {
+        return jdbcTemplate.query(SEARCH_USERS, USER_ROW, ftsQuery, limit, offset);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserRow> filterRowsAfter(UserFilter filter, long after, int limit) {
+        FilterQuery query = filterQuery(filter, after, limit);
+        return jdbcTemplate.query(query.sql(), USER_ROW, query.args().toArray());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Object[]> filterFieldsAfter(Set<UserField> fields, UserFilter filter, long after, int limit) {
+        Set<UserField> columns = withId(fields);
+        FilterQuery query = filterQuery(selectColumns(columns), filter, after, limit);
+        return jdbcTemplate.query(query.sql(), sparseRow(columns.size()), query.args().toArray());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Object[]> findFieldsById(Set<UserField> fields, long id) {
+        Set<UserField> columns = withId(fields);
+        String sql = selectColumns(columns) + "FROM users u WHERE u.id = ?";
+        return jdbcTemplate.query(sql, sparseRow(columns.size()), id).stream().findFirst();
+    }
+
+    // Package-private so the query plan tests can EXPLAIN exactly what runs
+    static FilterQuery filterQuery(UserFilter filter, long after, int limit) {
+        return filterQuery(SELECT_USER_ROW, filter, after, limit);
+    }
+
+    private static FilterQuery filterQuery(String select, UserFilter filter, long after, int limit) {
+        StringBuilder sql = new StringBuilder(select).append("FROM users u WHERE u.id > ?");
+        List<Object> args = new ArrayList<>();
+        args.add(after);
+        appendIn(sql, args, "u.username", filter.usernames());
+        appendIn(sql, args, "u.email", filter.emails());
+        appendIn(sql, args, "u.city", filter.cities());
+        appendIn(sql, args, "u.zipcode", filter.zipcodes());
+        appendIn(sql, args, "u.company_name", filter.companyNames());
+        sql.append(" ORDER BY u.id LIMIT ?");
+        args.add(limit);
+        return new FilterQuery(sql.toString(), args);
+    }
+
+    // The explicit collation is what lets SQLite pick the NOCASE index for the column
+    private static void appendIn(StringBuilder sql, List<Object> args, String column, List<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        sql.append(" AND ").append(column).append(" COLLATE NOCASE IN (")
+                .append(String.join(", ", Collections.nCopies(values.size(), "?")))
+                .append(')');
+        args.addAll(values);
+    }
+
+    private static Set<UserField> withId(Set<UserField> fields) {
+        EnumSet<UserField> columns = EnumSet.copyOf(fields);
+        columns.add(UserField.ID);
+        return columns;
+    }
+
+    private static String selectColumns(Set<UserField> columns) {
+        return columns.stream()
+                .map(field -> "u." + field.column())
+                .collect(Collectors.joining(", ", "SELECT ", " "));
+    }
+
+    private static RowMapper<Object[]> sparseRow(int width) {
+        return (rs, rowNum) -> {
+            Object[] row = new Object[width];
+            for (int i = 0; i < width; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            return row;
+        };
+    }
+
+    record FilterQuery(String sql, List<Object> args) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.jsonplaceholder.security;
+
+/**
+ * Published when an {@link com.jsonplaceholder.model.AuthUser} row is updated or deleted,
+ * so anything holding a resolved principal for that id can drop it.
+ */
+public record AuthUserChangedEvent(Long authUserId) {
+}
@@ -0,0 +1,21 @@
+package com.jsonplaceholder.security;
+
+import com.jsonplaceholder.model.AuthUser;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class AuthUserEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AuthUserEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(AuthUser authUser) {
+        eventPublisher.publishEvent(new AuthUserChangedEvent(authUser.getId()));
+    }
+}
@@ -1,20 +1,67 @@
 package com.jsonplaceholder.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int jwtExpirationInMs;
+    private final Timer signTimer;
+    private final Timer verifyTimer;
 
-    @Value("${jwt.expiration}")
-    private int jwtExpirationInMs;
+    // Keyed by SHA-256 of the token so repeated requests with the same token skip HMAC verification;
+    // null when jwt.verified-cache-size is 0
+    private final Cache<ByteBuffer, Claims> verifiedTokens;
+
+    public JwtTokenProvider(
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.expiration}") int jwtExpirationInMs,
+            @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize,
+            MeterRegistry meterRegistry) {
+        this.signingKey = new SecretKeySpec(Decoders.BASE64.decode(jwtSecret), SignatureAlgorithm.HS512.getJcaName());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.jwtExpirationInMs = jwtExpirationInMs;
+        this.verifiedTokens = verifiedCacheSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpiry(jwtExpirationInMs))
+                .recordStats()
+                .build();
+        if (verifiedTokens != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+        }
+        this.signTimer = Timer.builder("jwt.sign")
+                .description("Time to build and HMAC-sign a token")
+                .register(meterRegistry);
+        // Cache hits skip verification and are not recorded here
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("Time to parse and verify a token signature")
+                .register(meterRegistry);
+    }
 
     public String generateToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -22,42 +69,88 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        return Jwts.builder()
+        return signTimer.record(() -> Jwts.builder()
                 .setSubject(Long.toString(userPrincipal.getId()))
-                .setIssuedAt(new Date())
+                .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
-                .compact();
+                .signWith(signingKey, SignatureAlgorithm.HS512)
+                .compact());
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or empty if the token is
+     * malformed, badly signed, unsupported or expired.
+     */
+    public Optional<Claims> parseToken(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+
+        if (verifiedTokens == null) {
+            return verify(token);
+        }
+
+        ByteBuffer digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Claims> claims = verify(token);
+        claims.ifPresent(verified -> verifiedTokens.put(digest, verified));
+        return claims;
     }
 
     public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(jwtSecret)
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parseToken(token)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
 
         return Long.parseLong(claims.getSubject());
     }
 
     public boolean validateToken(String authToken) {
+        return parseToken(authToken).isPresent();
+    }
+
+    private Optional<Claims> verify(String token) {
+        long start = System.nanoTime();
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
-        } catch (SignatureException ex) {
-            // Invalid JWT signature
-            return false;
-        } catch (MalformedJwtException ex) {
-            // Invalid JWT token
-            return false;
-        } catch (ExpiredJwtException ex) {
-            // Expired JWT token
-            return false;
-        } catch (UnsupportedJwtException ex) {
-            // Unsupported JWT token
-            return false;
-        } catch (IllegalArgumentException ex) {
-            // JWT claims string is empty
-            return false;
-        }
-    }
-} 
\ No newline at end of file
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record UntilTokenExpiry(long fallbackTtlInMs) implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            long ttlInMs = expiration == null
+                    ? fallbackTtlInMs
+                    : expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlInMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.jsonplaceholder.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches principals resolved by {@link JwtAuthenticationFilter} so that authenticated
+ * requests do not hit the database once the principal is warm. Entries never outlive
+ * a token and are dropped after any committed change to the underlying auth user.
+ */
+@Component
+public class PrincipalCache {
+
+    private final boolean enabled;
+    private final Duration maxTtl;
+    private final Cache<Long, UserDetails> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public PrincipalCache(
+            @Value("${security.principal-cache.enabled:true}") boolean enabled,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${jwt.expiration}") long jwtExpirationInMs,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxTtl = Duration.ofMillis(jwtExpirationInMs);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new FixedTtl(maxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+        Gauge.builder("security.principal.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of authenticated requests served without loading the principal")
+                .register(meterRegistry);
+    }
+
+    public UserDetails get(Long userId, Date tokenExpiration, Function<Long, UserDetails> loader) {
+        if (!enabled) {
+            return loader.apply(userId);
+        }
+
+        UserDetails cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = invalidations.get();
+        UserDetails loaded = loader.apply(userId);
+        Duration ttl = ttlFor(tokenExpiration);
+        if (ttl.isZero()) {
+            return loaded;
+        }
+        cache.policy().expireVariably().orElseThrow().put(userId, loaded, ttl);
+        if (invalidations.get() != stamp) {
+            cache.invalidate(userId);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthUserChanged(AuthUserChangedEvent event) {
+        invalidate(event.authUserId());
+    }
+
+    private Duration ttlFor(Date tokenExpiration) {
+        if (tokenExpiration == null) {
+            return maxTtl;
+        }
+        Duration untilExpiry = Duration.ofMillis(tokenExpiration.getTime() - System.currentTimeMillis());
+        if (untilExpiry.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+    }
+
+    // Default for plain puts; entries loaded for a token are re-timed to that token's expiry
+    private record FixedTtl(Duration ttl) implements Expiry<Long, UserDetails> {
+
+        @Override
+        public long expireAfterCreate(Long userId, UserDetails principal, long currentTime) {
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long userId, UserDetails principal, long currentTime, long currentDuration) {
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Long userId, UserDetails principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.jsonplaceholder.service;
+
+import com.jsonplaceholder.dto.AlbumDto;
+import com.jsonplaceholder.dto.CursorPage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface AlbumService {
+    CursorPage<AlbumDto> getAllAlbums(Long after, int limit);
+    CursorPage<AlbumDto> getAlbumsByUser(Long userId, Long after, int limit);
+    AlbumDto getAlbumById(Long id);
+    Map<Long, AlbumDto> getAlbumsByIds(Collection<Long> ids);
+    Map<Long, List<AlbumDto>> getAlbumsByUsers(Collection<Long> userIds);
+}
@@ -0,0 +1,17 @@
+package com.jsonplaceholder.service;
+
+import com.jsonplaceholder.dto.CommentDto;
+import com.jsonplaceholder.dto.CursorPage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CommentService {
+    CursorPage<CommentDto> getAllComments(Long after, int limit);
+    CursorPage<CommentDto> getCommentsByPost(Long postId, Long after, int limit);
+    CommentDto getCommentById(Long id);
+    Map<Long, List<CommentDto>> getCommentsByPosts(Collection<Long> postIds);
+    CommentDto createComment(CommentDto commentDto);
+    void deleteComment(Long id);
+}
@@ -0,0 +1,8 @@
+package com.jsonplaceholder.service;
+
+public class InvalidPatchException extends RuntimeException {
+
+    public InvalidPatchException(String message) {
+        super(message);
+    }
+}
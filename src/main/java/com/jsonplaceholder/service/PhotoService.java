@@ -0,0 +1,16 @@
+package com.jsonplaceholder.service;
+
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.dto.PhotoDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface PhotoService {
+    void streamAllPhotos(Consumer<PhotoDto> consumer);
+    CursorPage<PhotoDto> getPhotosByAlbum(Long albumId, Long after, int limit);
+    PhotoDto getPhotoById(Long id);
+    Map<Long, List<PhotoDto>> getPhotosByAlbums(Collection<Long> albumIds);
+}
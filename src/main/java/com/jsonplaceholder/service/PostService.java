@@ -0,0 +1,16 @@
+package com.jsonplaceholder.service;
+
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.dto.PostDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface PostService {
+    CursorPage<PostDto> getAllPosts(Long after, int limit);
+    CursorPage<PostDto> getPostsByUser(Long userId, Long after, int limit);
+    PostDto getPostById(Long id);
+    Map<Long, PostDto> getPostsByIds(Collection<Long> ids);
+    Map<Long, List<PostDto>> getPostsByUsers(Collection<Long> userIds);
+}
@@ -0,0 +1,19 @@
+package com.jsonplaceholder.service;
+
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.dto.TodoDto;
+import com.jsonplaceholder.dto.TodoStatsDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TodoService {
+    CursorPage<TodoDto> getTodos(Long userId, Boolean completed, Long after, int limit);
+    TodoDto getTodoById(Long id);
+    Map<Long, List<TodoDto>> getTodosByUsers(Collection<Long> userIds);
+    TodoStatsDto getTodoStats(Long userId);
+    TodoDto createTodo(TodoDto todoDto);
+    TodoDto updateTodo(Long id, TodoDto changes);
+    void deleteTodo(Long id);
+}
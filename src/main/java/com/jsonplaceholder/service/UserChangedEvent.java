@@ -0,0 +1,8 @@
+package com.jsonplaceholder.service;
+
+/**
+ * Published by {@link UserService} whenever a user row is created, updated or deleted.
+ * Listeners that cache user data react to it after the surrounding transaction commits.
+ */
+public record UserChangedEvent(Long userId) {
+}
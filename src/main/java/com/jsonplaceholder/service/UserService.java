@@ -1,12 +1,35 @@
 package com.jsonplaceholder.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jsonplaceholder.dto.BatchItemResult;
+import com.jsonplaceholder.dto.CursorPage;
 import com.jsonplaceholder.dto.UserDto;
+import com.jsonplaceholder.repository.UserField;
+import com.jsonplaceholder.repository.UserFilter;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface UserService {
-    List<UserDto> getAllUsers();
+    CursorPage<UserDto> getAllUsers(Long after, int limit, UserFilter filter);
+    CursorPage<Object[]> getUserFields(Set<UserField> fields, Long after, int limit, UserFilter filter);
+    Object[] getUserFieldsById(Long id, Set<UserField> fields);
+    CursorPage<UserDto> searchUsers(String query, long offset, int limit);
+    OptionalLong getApproximateUserCount();
+    void streamAllUsers(Consumer<UserDto> consumer);
+    long getUsersVersion();
+    OptionalLong getUserVersion(Long id);
     UserDto getUserById(Long id);
+    Map<Long, UserDto> getUsersByIds(Collection<Long> ids);
     UserDto createUser(UserDto userDto);
     UserDto updateUser(Long id, UserDto userDto);
+    UserDto patchUser(Long id, JsonNode mergePatch);
     void deleteUser(Long id);
-} 
\ No newline at end of file
+    List<BatchItemResult> createUsers(List<UserDto> userDtos);
+    List<BatchItemResult> updateUsers(List<UserDto> userDtos);
+    List<BatchItemResult> deleteUsers(List<Long> ids);
+}
@@ -0,0 +1,79 @@
+package com.jsonplaceholder.service.impl;
+
+import com.jsonplaceholder.dto.AlbumDto;
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.model.Album;
+import com.jsonplaceholder.repository.AlbumRepository;
+import com.jsonplaceholder.service.AlbumService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class AlbumServiceImpl implements AlbumService {
+
+    private final AlbumRepository albumRepository;
+
+    public AlbumServiceImpl(AlbumRepository albumRepository) {
+        this.albumRepository = albumRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<AlbumDto> getAllAlbums(Long after, int limit) {
+        return CursorPage.of(albumRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.startAfter(after), Limit.of(limit + 1)),
+                limit, this::convertToDto, AlbumDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<AlbumDto> getAlbumsByUser(Long userId, Long after, int limit) {
+        return CursorPage.of(albumRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, CursorPage.startAfter(after), Limit.of(limit + 1)), limit, this::convertToDto, AlbumDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AlbumDto getAlbumById(Long id) {
+        return albumRepository.findById(id)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new EntityNotFoundException("Album not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, AlbumDto> getAlbumsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return albumRepository.findAllById(ids).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toMap(AlbumDto::getId, Function.identity()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<AlbumDto>> getAlbumsByUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return albumRepository.findByUserIdInOrderByIdAsc(userIds).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.groupingBy(AlbumDto::getUserId));
+    }
+
+    private AlbumDto convertToDto(Album album) {
+        AlbumDto dto = new AlbumDto();
+        dto.setId(album.getId());
+        dto.setUserId(album.getUserId());
+        dto.setTitle(album.getTitle());
+        return dto;
+    }
+}
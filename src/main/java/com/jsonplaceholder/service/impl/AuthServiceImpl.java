@@ -8,87 +8,94 @@ import com.jsonplaceholder.model.User;
 import com.jsonplaceholder.repository.AuthUserRepository;
 import com.jsonplaceholder.repository.UserRepository;
 import com.jsonplaceholder.security.JwtTokenProvider;
+import com.jsonplaceholder.security.UserPrincipal;
 import com.jsonplaceholder.service.AuthService;
 import jakarta.persistence.EntityExistsException;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthServiceImpl implements AuthService {
 
-    private final AuthenticationManager authenticationManager;
     private final AuthUserRepository authUserRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final WriteSerializer writeSerializer;
+
+    // Hash checked against when the email is unknown, so both outcomes cost one bcrypt
+    private volatile String unknownUserPasswordHash;
 
     public AuthServiceImpl(
-            AuthenticationManager authenticationManager,
             AuthUserRepository authUserRepository,
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
-            JwtTokenProvider tokenProvider) {
-        this.authenticationManager = authenticationManager;
+            JwtTokenProvider tokenProvider,
+            WriteSerializer writeSerializer) {
         this.authUserRepository = authUserRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.tokenProvider = tokenProvider;
+        this.writeSerializer = writeSerializer;
     }
 
     @Override
-    @Transactional
     public JwtResponse register(RegisterRequest request) {
-        if (authUserRepository.existsByEmail(request.getEmail())) {
-            throw new EntityExistsException("Email is already taken!");
-        }
+        // Hash on the caller's side so the single writer thread never waits on bcrypt
+        String passwordHash = passwordEncoder.encode(request.getPassword());
 
-        // Create user
-        User user = new User();
-        user.setName(request.getName());
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        user = userRepository.save(user);
-
-        // Create auth user
-        AuthUser authUser = new AuthUser();
-        authUser.setName(request.getName());
-        authUser.setEmail(request.getEmail());
-        authUser.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-        authUser.setUser(user);
-        authUser = authUserRepository.save(authUser);
-
-        // Generate token
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
+        AuthUser authUser = writeSerializer.execute(() -> {
+            if (authUserRepository.existsByEmail(request.getEmail())) {
+                throw new EntityExistsException("Email is already taken!");
+            }
 
-        return new JwtResponse(
-            jwt,
-            new JwtResponse.UserInfo(
-                authUser.getId(),
-                authUser.getName(),
-                authUser.getUser().getUsername(),
-                authUser.getEmail()
-            )
-        );
+            // Create user
+            User user = new User();
+            user.setName(request.getName());
+            user.setUsername(request.getUsername());
+            user.setEmail(request.getEmail());
+            user = userRepository.save(user);
+
+            // Create auth user
+            AuthUser created = new AuthUser();
+            created.setName(request.getName());
+            created.setEmail(request.getEmail());
+            created.setPasswordHash(passwordHash);
+            created.setUser(user);
+            return authUserRepository.save(created);
+        });
+
+        // The password was hashed just above, so there is nothing left to verify
+        return issueToken(authUser);
     }
 
+    // No transaction here: the lookup runs in its own, so no connection is held while bcrypt runs
     @Override
     public JwtResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        AuthUser authUser = authUserRepository.findWithUserByEmail(request.getEmail()).orElse(null);
+
+        if (authUser == null) {
+            passwordEncoder.matches(request.getPassword(), unknownUserPasswordHash());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!passwordEncoder.matches(request.getPassword(), authUser.getPasswordHash())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        return issueToken(authUser);
+    }
+
+    private JwtResponse issueToken(AuthUser authUser) {
+        UserPrincipal principal = UserPrincipal.create(authUser);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = tokenProvider.generateToken(authentication);
 
-        AuthUser authUser = authUserRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
         return new JwtResponse(
             jwt,
             new JwtResponse.UserInfo(
@@ -99,4 +106,13 @@ public class AuthServiceImpl implements AuthService {
             )
         );
     }
-} 
\ No newline at end of file
+
+    private String unknownUserPasswordHash() {
+        String hash = unknownUserPasswordHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("unknown-user-placeholder");
+            unknownUserPasswordHash = hash;
+        }
+        return hash;
+    }
+}
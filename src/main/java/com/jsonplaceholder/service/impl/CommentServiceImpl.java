@@ -0,0 +1,111 @@
+package com.jsonplaceholder.service.impl;
+
+import com.jsonplaceholder.dto.CommentDto;
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.model.Comment;
+import com.jsonplaceholder.repository.CommentRepository;
+import com.jsonplaceholder.repository.PostRepository;
+import com.jsonplaceholder.service.CommentService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Comments. Inserts and deletes also move {@code posts.comment_count}; the triggers doing
+ * that run inside the same write transaction (see V8 migration).
+ */
+@Service
+public class CommentServiceImpl implements CommentService {
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final WriteSerializer writeSerializer;
+
+    public CommentServiceImpl(
+            CommentRepository commentRepository,
+            PostRepository postRepository,
+            WriteSerializer writeSerializer) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.writeSerializer = writeSerializer;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getAllComments(Long after, int limit) {
+        return CursorPage.of(commentRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.startAfter(after), Limit.of(limit + 1)),
+                limit, this::convertToDto, CommentDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getCommentsByPost(Long postId, Long after, int limit) {
+        return CursorPage.of(commentRepository.findByPostIdAndIdGreaterThanOrderByIdAsc(
+                postId, CursorPage.startAfter(after), Limit.of(limit + 1)), limit, this::convertToDto, CommentDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentDto getCommentById(Long id) {
+        return commentRepository.findById(id)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new EntityNotFoundException("Comment not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<CommentDto>> getCommentsByPosts(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.findByPostIdInOrderByIdAsc(postIds).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.groupingBy(CommentDto::getPostId));
+    }
+
+    @Override
+    public CommentDto createComment(CommentDto commentDto) {
+        return writeSerializer.execute(() -> {
+            Comment comment = convertToEntity(commentDto);
+            if (!postRepository.existsById(comment.getPostId())) {
+                throw new EntityNotFoundException("Post not found with id: " + comment.getPostId());
+            }
+            return convertToDto(commentRepository.save(comment));
+        });
+    }
+
+    @Override
+    public void deleteComment(Long id) {
+        writeSerializer.run(() -> {
+            if (!commentRepository.existsById(id)) {
+                throw new EntityNotFoundException("Comment not found with id: " + id);
+            }
+            commentRepository.deleteById(id);
+        });
+    }
+
+    private CommentDto convertToDto(Comment comment) {
+        CommentDto dto = new CommentDto();
+        dto.setId(comment.getId());
+        dto.setPostId(comment.getPostId());
+        dto.setName(comment.getName());
+        dto.setEmail(comment.getEmail());
+        dto.setBody(comment.getBody());
+        return dto;
+    }
+
+    private Comment convertToEntity(CommentDto dto) {
+        Comment comment = new Comment();
+        comment.setPostId(dto.getPostId());
+        comment.setName(dto.getName());
+        comment.setEmail(dto.getEmail());
+        comment.setBody(dto.getBody());
+        return comment;
+    }
+}
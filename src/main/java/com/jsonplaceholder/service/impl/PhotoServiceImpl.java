@@ -0,0 +1,80 @@
+package com.jsonplaceholder.service.impl;
+
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.dto.PhotoDto;
+import com.jsonplaceholder.model.Photo;
+import com.jsonplaceholder.repository.PhotoRepository;
+import com.jsonplaceholder.service.PhotoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class PhotoServiceImpl implements PhotoService {
+
+    private final PhotoRepository photoRepository;
+    private final EntityManager entityManager;
+
+    public PhotoServiceImpl(PhotoRepository photoRepository, EntityManager entityManager) {
+        this.photoRepository = photoRepository;
+        this.entityManager = entityManager;
+    }
+
+    // Rows are handed over one at a time from the open cursor and detached once written; nothing collects the table
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllPhotos(Consumer<PhotoDto> consumer) {
+        try (Stream<Photo> photos = photoRepository.streamAllOrderedById()) {
+            photos.forEach(photo -> {
+                consumer.accept(convertToDto(photo));
+                entityManager.detach(photo);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PhotoDto> getPhotosByAlbum(Long albumId, Long after, int limit) {
+        List<Photo> photos = photoRepository.findByAlbumIdAndIdGreaterThanOrderByIdAsc(
+                albumId, CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(photos, limit, this::convertToDto, PhotoDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PhotoDto getPhotoById(Long id) {
+        return photoRepository.findById(id)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new EntityNotFoundException("Photo not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<PhotoDto>> getPhotosByAlbums(Collection<Long> albumIds) {
+        if (albumIds.isEmpty()) {
+            return Map.of();
+        }
+        return photoRepository.findByAlbumIdInOrderByIdAsc(albumIds).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.groupingBy(PhotoDto::getAlbumId));
+    }
+
+    private PhotoDto convertToDto(Photo photo) {
+        PhotoDto dto = new PhotoDto();
+        dto.setId(photo.getId());
+        dto.setAlbumId(photo.getAlbumId());
+        dto.setTitle(photo.getTitle());
+        dto.setUrl(photo.getUrl());
+        dto.setThumbnailUrl(photo.getThumbnailUrl());
+        return dto;
+    }
+}
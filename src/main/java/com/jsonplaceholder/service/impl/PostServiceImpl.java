@@ -0,0 +1,81 @@
+package com.jsonplaceholder.service.impl;
+
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.dto.PostDto;
+import com.jsonplaceholder.model.Post;
+import com.jsonplaceholder.repository.PostRepository;
+import com.jsonplaceholder.service.PostService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class PostServiceImpl implements PostService {
+
+    private final PostRepository postRepository;
+
+    public PostServiceImpl(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostDto> getAllPosts(Long after, int limit) {
+        return CursorPage.of(postRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.startAfter(after), Limit.of(limit + 1)),
+                limit, this::convertToDto, PostDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostDto> getPostsByUser(Long userId, Long after, int limit) {
+        return CursorPage.of(postRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, CursorPage.startAfter(after), Limit.of(limit + 1)), limit, this::convertToDto, PostDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostDto getPostById(Long id) {
+        return postRepository.findById(id)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, PostDto> getPostsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return postRepository.findAllById(ids).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toMap(PostDto::getId, Function.identity()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<PostDto>> getPostsByUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return postRepository.findByUserIdInOrderByIdAsc(userIds).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.groupingBy(PostDto::getUserId));
+    }
+
+    private PostDto convertToDto(Post post) {
+        PostDto dto = new PostDto();
+        dto.setId(post.getId());
+        dto.setUserId(post.getUserId());
+        dto.setTitle(post.getTitle());
+        dto.setBody(post.getBody());
+        dto.setCommentCount(post.getCommentCount());
+        return dto;
+    }
+}
@@ -0,0 +1,141 @@
+package com.jsonplaceholder.service.impl;
+
+import com.jsonplaceholder.dto.CursorPage;
+import com.jsonplaceholder.dto.TodoDto;
+import com.jsonplaceholder.dto.TodoStatsDto;
+import com.jsonplaceholder.model.Todo;
+import com.jsonplaceholder.repository.TodoRepository;
+import com.jsonplaceholder.repository.UserRepository;
+import com.jsonplaceholder.service.TodoService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Todos. Creating, toggling and deleting a todo also moves its user's row in
+ * {@code user_todo_stats}; the triggers doing that run inside the same write transaction
+ * (see V9 migration), so {@link #getTodoStats} is a primary-key lookup.
+ */
+@Service
+public class TodoServiceImpl implements TodoService {
+
+    private final TodoRepository todoRepository;
+    private final UserRepository userRepository;
+    private final WriteSerializer writeSerializer;
+
+    public TodoServiceImpl(
+            TodoRepository todoRepository,
+            UserRepository userRepository,
+            WriteSerializer writeSerializer) {
+        this.todoRepository = todoRepository;
+        this.userRepository = userRepository;
+        this.writeSerializer = writeSerializer;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TodoDto> getTodos(Long userId, Boolean completed, Long after, int limit) {
+        long cursor = CursorPage.startAfter(after);
+        Limit fetch = Limit.of(limit + 1);
+        List<Todo> todos;
+        if (userId == null) {
+            todos = completed == null
+                    ? todoRepository.findByIdGreaterThanOrderByIdAsc(cursor, fetch)
+                    : todoRepository.findByCompletedAndIdGreaterThanOrderByIdAsc(completed, cursor, fetch);
+        } else {
+            todos = completed == null
+                    ? todoRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, cursor, fetch)
+                    : todoRepository.findByUserIdAndCompletedAndIdGreaterThanOrderByIdAsc(
+                            userId, completed, cursor, fetch);
+        }
+        return CursorPage.of(todos, limit, this::convertToDto, TodoDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TodoDto getTodoById(Long id) {
+        return todoRepository.findById(id)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new EntityNotFoundException("Todo not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<TodoDto>> getTodosByUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return todoRepository.findByUserIdInOrderByIdAsc(userIds).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.groupingBy(TodoDto::getUserId));
+    }
+
+    // A user without todos has no stats row yet
+    @Override
+    @Transactional(readOnly = true)
+    public TodoStatsDto getTodoStats(Long userId) {
+        return todoRepository.findStatsByUserId(userId)
+                .map(stats -> new TodoStatsDto(userId, stats.getOpenCount(), stats.getDoneCount()))
+                .orElseGet(() -> new TodoStatsDto(userId, 0, 0));
+    }
+
+    @Override
+    public TodoDto createTodo(TodoDto todoDto) {
+        return writeSerializer.execute(() -> {
+            Todo todo = convertToEntity(todoDto);
+            if (!userRepository.existsById(todo.getUserId())) {
+                throw new EntityNotFoundException("User not found with id: " + todo.getUserId());
+            }
+            return convertToDto(todoRepository.save(todo));
+        });
+    }
+
+    // Only the fields present in the request change, so {"completed": true} toggles a todo
+    @Override
+    public TodoDto updateTodo(Long id, TodoDto changes) {
+        return writeSerializer.execute(() -> {
+            Todo todo = todoRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Todo not found with id: " + id));
+            if (changes.getTitle() != null) {
+                todo.setTitle(changes.getTitle());
+            }
+            if (changes.getCompleted() != null) {
+                todo.setCompleted(changes.getCompleted());
+            }
+            return convertToDto(todoRepository.saveAndFlush(todo));
+        });
+    }
+
+    @Override
+    public void deleteTodo(Long id) {
+        writeSerializer.run(() -> {
+            if (!todoRepository.existsById(id)) {
+                throw new EntityNotFoundException("Todo not found with id: " + id);
+            }
+            todoRepository.deleteById(id);
+        });
+    }
+
+    private TodoDto convertToDto(Todo todo) {
+        TodoDto dto = new TodoDto();
+        dto.setId(todo.getId());
+        dto.setUserId(todo.getUserId());
+        dto.setTitle(todo.getTitle());
+        dto.setCompleted(todo.getCompleted());
+        return dto;
+    }
+
+    private Todo convertToEntity(TodoDto dto) {
+        Todo todo = new Todo();
+        todo.setUserId(dto.getUserId());
+        todo.setTitle(dto.getTitle());
+        todo.setCompleted(Boolean.TRUE.equals(dto.getCompleted()));
+        return todo;
+    }
+}
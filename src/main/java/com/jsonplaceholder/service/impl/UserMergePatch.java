@@ -0,0 +1,65 @@
+package com.jsonplaceholder.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jsonplaceholder.repository.UnknownFieldException;
+import com.jsonplaceholder.repository.UserField;
+import com.jsonplaceholder.service.InvalidPatchException;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns a JSON Merge Patch (RFC 7386) for a user into the column values it changes. Members
+ * left out are untouched, {@code null} clears a field or a whole nested object, and nested
+ * objects are merged member by member.
+ */
+final class UserMergePatch {
+
+    private static final Set<UserField> REQUIRED = EnumSet.of(UserField.NAME, UserField.USERNAME, UserField.EMAIL);
+
+    private UserMergePatch() {
+    }
+
+    static Map<UserField, String> toChanges(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidPatchException("Merge patch must be a JSON object");
+        }
+        Map<UserField, String> changes = new EnumMap<>(UserField.class);
+        collect("", patch, changes);
+
+        if (changes.containsKey(UserField.ID)) {
+            throw new InvalidPatchException("id cannot be changed");
+        }
+        for (UserField field : REQUIRED) {
+            if (changes.containsKey(field) && changes.get(field) == null) {
+                throw new InvalidPatchException(field.path() + " cannot be null");
+            }
+        }
+        return changes;
+    }
+
+    private static void collect(String prefix, JsonNode object, Map<UserField, String> changes) {
+        object.fields().forEachRemaining(member -> {
+            String path = prefix + member.getKey();
+            JsonNode value = member.getValue();
+            List<UserField> fields = UserField.matching(path);
+            if (fields.isEmpty()) {
+                throw new UnknownFieldException(path);
+            }
+            boolean leaf = fields.size() == 1 && fields.get(0).path().equals(path);
+
+            if (value.isNull()) {
+                fields.forEach(field -> changes.put(field, null));
+            } else if (value.isObject() && !leaf) {
+                collect(path + ".", value, changes);
+            } else if (value.isValueNode() && leaf) {
+                changes.put(fields.get(0), value.asText());
+            } else {
+                throw new InvalidPatchException(path + (leaf ? " must be a string or null" : " must be an object or null"));
+            }
+        });
+    }
+}
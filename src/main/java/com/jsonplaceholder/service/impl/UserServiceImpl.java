@@ -1,76 +1,392 @@
 package com.jsonplaceholder.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jsonplaceholder.cache.UserCache;
 import com.jsonplaceholder.dto.AddressDto;
+import com.jsonplaceholder.dto.BatchItemResult;
 import com.jsonplaceholder.dto.CompanyDto;
+import com.jsonplaceholder.dto.CursorPage;
 import com.jsonplaceholder.dto.GeoDto;
 import com.jsonplaceholder.dto.UserDto;
 import com.jsonplaceholder.model.Address;
 import com.jsonplaceholder.model.Company;
 import com.jsonplaceholder.model.Geo;
 import com.jsonplaceholder.model.User;
+import com.jsonplaceholder.repository.UserField;
+import com.jsonplaceholder.repository.UserFilter;
 import com.jsonplaceholder.repository.UserRepository;
+import com.jsonplaceholder.repository.UserRow;
+import com.jsonplaceholder.service.UserChangedEvent;
 import com.jsonplaceholder.service.UserService;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    // Same split as the unicode61 tokenizer: anything that is not a letter or digit
+    private static final Pattern SEARCH_TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final UserCache userCache;
+    private final WriteSerializer writeSerializer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration totalCountTtl;
+    private final AtomicReference<CachedCount> cachedCount = new AtomicReference<>();
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(
+            UserRepository userRepository,
+            EntityManager entityManager,
+            UserCache userCache,
+            WriteSerializer writeSerializer,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${pagination.total-count-ttl:30s}") Duration totalCountTtl) {
         this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.userCache = userCache;
+        this.writeSerializer = writeSerializer;
+        this.eventPublisher = eventPublisher;
+        this.totalCountTtl = totalCountTtl;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
+    public CursorPage<UserDto> getAllUsers(Long after, int limit, UserFilter filter) {
+        long afterId = CursorPage.startAfter(after);
+        List<UserRow> rows = filter.isEmpty()
+                ? userRepository.findRowsAfter(afterId, Limit.of(limit + 1))
+                : userRepository.filterRowsAfter(filter, afterId, limit + 1);
+        return CursorPage.of(rows, limit, this::convertToDto, UserDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Object[]> getUserFields(Set<UserField> fields, Long after, int limit, UserFilter filter) {
+        List<Object[]> rows = userRepository.filterFieldsAfter(fields, filter, CursorPage.startAfter(after), limit + 1);
+        // Sparse rows start with the id
+        return CursorPage.of(rows, limit, Function.identity(), row -> ((Number) row[0]).longValue());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Object[] getUserFieldsById(Long id, Set<UserField> fields) {
+        return userRepository.findFieldsById(fields, id)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> searchUsers(String query, long offset, int limit) {
+        String ftsQuery = toFtsQuery(query);
+        if (ftsQuery.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        // Ranked results have no stable key to seek on, so the cursor is the next offset
+        List<UserRow> rows = userRepository.search(ftsQuery, offset, limit + 1);
+        List<UserDto> items = rows.stream()
+                .limit(limit)
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        Long nextCursor = rows.size() > limit ? offset + limit : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    @Override
+    public OptionalLong getApproximateUserCount() {
+        if (totalCountTtl.isZero() || totalCountTtl.isNegative()) {
+            return OptionalLong.empty();
+        }
+        long now = System.nanoTime();
+        CachedCount current = cachedCount.get();
+        if (current != null && now - current.expiresAt() < 0) {
+            return OptionalLong.of(current.value());
+        }
+        long count = userRepository.count();
+        cachedCount.set(new CachedCount(count, now + totalCountTtl.toNanos()));
+        return OptionalLong.of(count);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserDto> consumer) {
+        try (Stream<User> users = userRepository.streamAllOrderedById()) {
+            users.forEach(user -> {
+                consumer.accept(convertToDto(user));
+                // Drop the entity from the persistence context so heap use stays flat
+                entityManager.detach(user);
+            });
+        }
+    }
+
+    @Override
+    public long getUsersVersion() {
+        return userRepository.findTableVersion();
+    }
+
+    @Override
+    public OptionalLong getUserVersion(Long id) {
+        if (userCache.isKnownMissing(id)) {
+            throw new EntityNotFoundException("User not found with id: " + id);
+        }
+        Optional<UserDto> cached = userCache.peek(id);
+        if (cached.isPresent()) {
+            return OptionalLong.of(cached.get().getVersion());
+        }
+        return userRepository.findVersionById(id)
+                .map(OptionalLong::of)
+                .orElseGet(OptionalLong::empty);
+    }
+
+    @Override
     public UserDto getUserById(Long id) {
-        User user = userRepository.findById(id)
+        return userCache.get(id, this::loadUser)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
-        return convertToDto(user);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public Map<Long, UserDto> getUsersByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findRowsByIdIn(ids).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toMap(UserDto::getId, Function.identity()));
+    }
+
+    @Override
     public UserDto createUser(UserDto userDto) {
-        User user = convertToEntity(userDto);
-        User savedUser = userRepository.save(user);
-        return convertToDto(savedUser);
+        return writeSerializer.execute(() -> {
+            User savedUser = userRepository.save(convertToEntity(userDto));
+            eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+            return convertToDto(savedUser);
+        });
     }
 
     @Override
-    @Transactional
     public UserDto updateUser(Long id, UserDto userDto) {
-        User existingUser = userRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+        return writeSerializer.execute(() -> {
+            User existingUser = userRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
 
-        updateUserFromDto(existingUser, userDto);
-        User updatedUser = userRepository.save(existingUser);
-        return convertToDto(updatedUser);
+            updateUserFromDto(existingUser, userDto);
+            User updatedUser = userRepository.save(existingUser);
+            eventPublisher.publishEvent(new UserChangedEvent(id));
+            return convertToDto(updatedUser);
+        });
+    }
+
+    @Override
+    public UserDto patchUser(Long id, JsonNode mergePatch) {
+        Map<UserField, String> changes = UserMergePatch.toChanges(mergePatch);
+        if (!changes.isEmpty()) {
+            // One UPDATE of the changed columns, with no SELECT holding the write lock first
+            writeSerializer.run(() -> {
+                if (userRepository.updateColumns(id, changes) == 0) {
+                    throw new EntityNotFoundException("User not found with id: " + id);
+                }
+                eventPublisher.publishEvent(new UserChangedEvent(id));
+            });
+        }
+        // Read back after commit on a reader connection, once the cache entry has been dropped
+        return getUserById(id);
     }
 
     @Override
-    @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new EntityNotFoundException("User not found with id: " + id);
+        writeSerializer.run(() -> {
+            if (!userRepository.existsById(id)) {
+                throw new EntityNotFoundException("User not found with id: " + id);
+            }
+            userRepository.deleteById(id);
+            eventPublisher.publishEvent(new UserChangedEvent(id));
+        });
+    }
+
+    @Override
+    public List<BatchItemResult> createUsers(List<UserDto> userDtos) {
+        BatchItemResult[] results = new BatchItemResult[userDtos.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userDtos.size(); i++) {
+            UserDto userDto = userDtos.get(i);
+            String error = validate(userDto);
+            if (error != null) {
+                results[i] = BatchItemResult.failure(HttpStatus.BAD_REQUEST.value(), null, error);
+            } else {
+                positions.add(i);
+                users.add(convertToEntity(userDto));
+            }
+        }
+
+        List<Long> ids = writeSerializer.execute(() -> {
+            List<Long> generatedIds = userRepository.insertAll(users);
+            // Clears negative cache entries for ids that now exist
+            generatedIds.forEach(id -> eventPublisher.publishEvent(new UserChangedEvent(id)));
+            return generatedIds;
+        });
+
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            user.setId(ids.get(i));
+            user.setVersion(0L);
+            results[positions.get(i)] = BatchItemResult.success(HttpStatus.CREATED.value(), user.getId(), convertToDto(user));
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public List<BatchItemResult> updateUsers(List<UserDto> userDtos) {
+        return writeSerializer.execute(() -> {
+            List<Long> ids = userDtos.stream()
+                    .filter(Objects::nonNull)
+                    .map(UserDto::getId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            Map<Long, User> existingUsers = userRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+
+            // Managed entities are flushed on commit, where Hibernate groups the UPDATEs into JDBC batches
+            List<BatchItemResult> results = new ArrayList<>(userDtos.size());
+            for (UserDto userDto : userDtos) {
+                Long id = userDto == null ? null : userDto.getId();
+                String error = userDto != null && id == null ? "id is required" : validate(userDto);
+                User user = existingUsers.get(id);
+                if (error != null) {
+                    results.add(BatchItemResult.failure(HttpStatus.BAD_REQUEST.value(), id, error));
+                } else if (user == null) {
+                    results.add(BatchItemResult.failure(HttpStatus.NOT_FOUND.value(), id, "User not found with id: " + id));
+                } else {
+                    updateUserFromDto(user, userDto);
+                    eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+                    results.add(BatchItemResult.success(HttpStatus.OK.value(), user.getId(), convertToDto(user)));
+                }
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public List<BatchItemResult> deleteUsers(List<Long> ids) {
+        return writeSerializer.execute(() -> {
+            Set<Long> requestedIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+            Set<Long> remaining = requestedIds.isEmpty()
+                    ? new HashSet<>()
+                    : new HashSet<>(userRepository.findExistingIds(requestedIds));
+            Set<Long> deleted = new HashSet<>();
+
+            List<BatchItemResult> results = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                if (id == null) {
+                    results.add(BatchItemResult.failure(HttpStatus.BAD_REQUEST.value(), null, "id is required"));
+                } else if (remaining.remove(id)) {
+                    deleted.add(id);
+                    results.add(BatchItemResult.success(HttpStatus.NO_CONTENT.value(), id, null));
+                } else {
+                    results.add(BatchItemResult.failure(HttpStatus.NOT_FOUND.value(), id, "User not found with id: " + id));
+                }
+            }
+
+            if (!deleted.isEmpty()) {
+                userRepository.deleteAllByIdInBatch(deleted);
+                deleted.forEach(id -> eventPublisher.publishEvent(new UserChangedEvent(id)));
+            }
+            return results;
+        });
+    }
+
+    private String validate(UserDto userDto) {
+        if (userDto == null) {
+            return "user is required";
+        }
+        if (userDto.getName() == null || userDto.getUsername() == null || userDto.getEmail() == null) {
+            return "name, username and email are required";
+        }
+        return null;
+    }
+
+    // Each word becomes a quoted prefix term, so user input can never be parsed as FTS5 operators
+    static String toFtsQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        return SEARCH_TOKEN_SEPARATOR.splitAsStream(query)
+                .filter(token -> !token.isEmpty())
+                .map(token -> "\"" + token + "\"*")
+                .collect(Collectors.joining(" "));
+    }
+
+    private Optional<UserDto> loadUser(Long id) {
+        return userRepository.findRowById(id).map(this::convertToDto);
+    }
+
+    // Package-private for the JMH benchmarks
+    UserDto convertToDto(UserRow row) {
+        UserDto dto = new UserDto();
+        dto.setId(row.id());
+        dto.setName(row.name());
+        dto.setUsername(row.username());
+        dto.setEmail(row.email());
+        dto.setPhone(row.phone());
+        dto.setWebsite(row.website());
+        dto.setVersion(row.version());
+
+        // Mirror Hibernate's embeddable semantics: all columns null means no object
+        boolean hasGeo = row.lat() != null || row.lng() != null;
+        if (hasGeo || row.street() != null || row.suite() != null || row.city() != null || row.zipcode() != null) {
+            AddressDto addressDto = new AddressDto();
+            addressDto.setStreet(row.street());
+            addressDto.setSuite(row.suite());
+            addressDto.setCity(row.city());
+            addressDto.setZipcode(row.zipcode());
+
+            if (hasGeo) {
+                GeoDto geoDto = new GeoDto();
+                geoDto.setLat(row.lat());
+                geoDto.setLng(row.lng());
+                addressDto.setGeo(geoDto);
+            }
+
+            dto.setAddress(addressDto);
+        }
+
+        if (row.companyName() != null || row.companyCatchPhrase() != null || row.companyBs() != null) {
+            CompanyDto companyDto = new CompanyDto();
+            companyDto.setName(row.companyName());
+            companyDto.setCatchPhrase(row.companyCatchPhrase());
+            companyDto.setBs(row.companyBs());
+            dto.setCompany(companyDto);
         }
-        userRepository.deleteById(id);
+
+        return dto;
     }
 
-    private UserDto convertToDto(User user) {
+    UserDto convertToDto(User user) {
         UserDto dto = new UserDto();
         dto.setId(user.getId());
         dto.setName(user.getName());
@@ -78,6 +394,7 @@ public class UserServiceImpl implements UserService {
         dto.setEmail(user.getEmail());
         dto.setPhone(user.getPhone());
         dto.setWebsite(user.getWebsite());
+        dto.setVersion(user.getVersion());
 
         if (user.getAddress() != null) {
             AddressDto addressDto = new AddressDto();
@@ -107,7 +424,7 @@ public class UserServiceImpl implements UserService {
         return dto;
     }
 
-    private User convertToEntity(UserDto dto) {
+    User convertToEntity(UserDto dto) {
         User user = new User();
         user.setName(dto.getName());
         user.setUsername(dto.getUsername());
@@ -177,4 +494,7 @@ public class UserServiceImpl implements UserService {
             user.getCompany().setBs(dto.getCompany().getBs());
         }
     }
-} 
\ No newline at end of file
+
+    private record CachedCount(long value, long expiresAt) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,226 @@
+package com.jsonplaceholder.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Funnels database writes through a single writer thread. SQLite only admits one writer at a
+ * time, so instead of letting request threads race for the lock (and hit SQLITE_BUSY), queued
+ * writes are applied in groups: one transaction, one commit and one fsync per batch.
+ *
+ * <p>Each caller still receives its own result or exception. If any write in a batch fails,
+ * the batch is rolled back and its writes are replayed one transaction each, so only the
+ * failing write reports an error.
+ */
+@Component
+public class WriteSerializer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteSerializer.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<WriteTask<?>> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSizes;
+    private final Timer queueLatency;
+    private final Timer batchDuration;
+    private final Counter batchReplays;
+
+    public WriteSerializer(
+            PlatformTransactionManager transactionManager,
+            @Value("${sqlite.write-queue.enabled:true}") boolean enabled,
+            @Value("${sqlite.write-queue.max-batch-size:64}") int maxBatchSize,
+            @Value("${sqlite.write-queue.linger:2ms}") Duration linger,
+            @Value("${sqlite.write-queue.capacity:10000}") int capacity,
+            MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        this.batchSizes = DistributionSummary.builder("sqlite.write.batch.size")
+                .description("Writes committed together in one transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueLatency = Timer.builder("sqlite.write.queue.latency")
+                .description("Time a write waited in the queue before its batch started")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("sqlite.write.batch.duration")
+                .description("Time to apply and commit one batch")
+                .register(meterRegistry);
+        this.batchReplays = Counter.builder("sqlite.write.batch.replays")
+                .description("Batches rolled back and replayed write by write after a failure")
+                .register(meterRegistry);
+        Gauge.builder("sqlite.write.queue.depth", queue, BlockingQueue::size)
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::drain, "sqlite-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Runs {@code work} in a write transaction and returns its result. The work must only
+     * touch the database: it may run on another thread and may be replayed if a batch fails.
+     * Entities it saves should be created inside it, so a replay does not reuse the id and
+     * version the rolled-back attempt assigned.
+     */
+    public <T> T execute(Supplier<T> work) {
+        // Callers already in a transaction (or the writer itself) join it instead of queueing
+        if (!enabled
+                || Thread.currentThread() == writer
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> work.get());
+        }
+
+        WriteTask<T> task = new WriteTask<>(work, System.nanoTime());
+        if (!queue.offer(task)) {
+            throw new RejectedExecutionException("Write queue is full");
+        }
+        return task.await();
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        WriteTask<?> task;
+        while ((task = queue.poll()) != null) {
+            task.fail(new RejectedExecutionException("Write queue is shutting down"));
+        }
+    }
+
+    private void drain() {
+        List<WriteTask<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                WriteTask<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Linger briefly so writes arriving together share one commit
+                long lingerDeadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = lingerDeadline - System.nanoTime();
+                    WriteTask<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                apply(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                batch.forEach(task -> task.fail(ex));
+                return;
+            } catch (Throwable ex) {
+                logger.error("Write batch failed unexpectedly", ex);
+                batch.forEach(task -> task.fail(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<WriteTask<?>> batch) {
+        long startedAt = System.nanoTime();
+        batch.forEach(task -> queueLatency.record(startedAt - task.enqueuedAt, TimeUnit.NANOSECONDS));
+        batchSizes.record(batch.size());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(WriteTask::apply));
+            batch.forEach(WriteTask::complete);
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).fail(ex);
+            } else {
+                batchReplays.increment();
+                for (WriteTask<?> task : batch) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> task.apply());
+                        task.complete();
+                    } catch (RuntimeException taskEx) {
+                        task.fail(taskEx);
+                    }
+                }
+            }
+        }
+
+        batchDuration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private static final class WriteTask<T> {
+        private final Supplier<T> work;
+        private final long enqueuedAt;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+
+        private WriteTask(Supplier<T> work, long enqueuedAt) {
+            this.work = work;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        // Runs inside the batch transaction; the caller only sees the value once it commits
+        private void apply() {
+            value = work.get();
+        }
+
+        private void complete() {
+            result.complete(value);
+        }
+
+        private void fail(Throwable ex) {
+            result.completeExceptionally(ex);
+        }
+
+        private T await() {
+            try {
+                return result.join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Write failed", cause);
+            }
+        }
+    }
+}
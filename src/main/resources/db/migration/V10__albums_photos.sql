@@ -0,0 +1,67 @@
+CREATE TABLE albums (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id INTEGER NOT NULL,
+    title TEXT NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+CREATE INDEX idx_albums_user_id ON albums (user_id);
+
+CREATE TABLE photos (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    album_id INTEGER NOT NULL,
+    title TEXT NOT NULL,
+    url TEXT NOT NULL,
+    thumbnail_url TEXT NOT NULL,
+    FOREIGN KEY (album_id) REFERENCES albums(id)
+);
+
+-- Also serves /albums/{id}/photos keyset pages in id order through the implicit rowid
+CREATE INDEX idx_photos_album_id ON photos (album_id);
+
+-- Upstream layout: 100 albums, ten for each of the ten seeded users, in user order
+WITH RECURSIVE
+    seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100),
+    words(i, word) AS (VALUES
+        (0, 'quidem'), (1, 'molestiae'), (2, 'enim'), (3, 'sunt'), (4, 'qui'),
+        (5, 'excepturi'), (6, 'omnis'), (7, 'consequatur'), (8, 'ut'), (9, 'magnam'),
+        (10, 'omnis'), (11, 'laboriosam'), (12, 'distinctio'), (13, 'ea'), (14, 'natus'),
+        (15, 'eaque'), (16, 'aut'), (17, 'non'), (18, 'esse'), (19, 'ullam')),
+    seeded_users(id, position) AS (
+        SELECT id, ROW_NUMBER() OVER (ORDER BY id) FROM users)
+INSERT INTO albums (user_id, title)
+SELECT
+    u.id,
+    (SELECT word FROM words WHERE i = (seq.n * 7) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 3 + 1) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 11 + 5) % 20)
+FROM seq
+JOIN seeded_users u ON u.position = (seq.n - 1) / 10 + 1
+WHERE u.position <= 10
+ORDER BY seq.n;
+
+-- 5000 photos, fifty per album; each gets its own placeholder colour
+WITH RECURSIVE
+    seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 5000),
+    words(i, word) AS (VALUES
+        (0, 'accusamus'), (1, 'beatae'), (2, 'ad'), (3, 'facilis'), (4, 'cum'),
+        (5, 'similique'), (6, 'qui'), (7, 'sunt'), (8, 'reprehenderit'), (9, 'est'),
+        (10, 'necessitatibus'), (11, 'officia'), (12, 'porro'), (13, 'odio'), (14, 'nihil'),
+        (15, 'quaerat'), (16, 'dolorem'), (17, 'fugiat'), (18, 'natus'), (19, 'voluptatem')),
+    seeded_albums(id, position) AS (
+        SELECT id, ROW_NUMBER() OVER (ORDER BY id) FROM albums),
+    colours(n, hex) AS (
+        SELECT n, printf('%06x', (n * 2654435761) % 16777216) FROM seq)
+INSERT INTO photos (album_id, title, url, thumbnail_url)
+SELECT
+    a.id,
+    (SELECT word FROM words WHERE i = (seq.n * 7) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 3 + 1) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 11 + 5) % 20),
+    'https://via.placeholder.com/600/' || c.hex,
+    'https://via.placeholder.com/150/' || c.hex
+FROM seq
+JOIN colours c ON c.n = seq.n
+JOIN seeded_albums a ON a.position = (seq.n - 1) / 50 + 1
+WHERE a.position <= 100
+ORDER BY seq.n;
@@ -0,0 +1,21 @@
+-- The FOREIGN KEY clauses are not enforced: foreign_keys is off, and SQLite cannot add
+-- ON DELETE CASCADE without rebuilding every table. A user's content is removed by this trigger
+-- instead. It runs inside the DELETE, for single and batch deletes alike, and commits or rolls
+-- back with it.
+CREATE TRIGGER users_cascade_after_delete AFTER DELETE ON users
+BEGIN
+    DELETE FROM comments WHERE post_id IN (SELECT id FROM posts WHERE user_id = old.id);
+    DELETE FROM posts WHERE user_id = old.id;
+    DELETE FROM photos WHERE album_id IN (SELECT id FROM albums WHERE user_id = old.id);
+    DELETE FROM albums WHERE user_id = old.id;
+    DELETE FROM todos WHERE user_id = old.id;
+    DELETE FROM user_todo_stats WHERE user_id = old.id;
+END;
+
+-- Rows orphaned by deletes made before this migration
+DELETE FROM posts WHERE user_id NOT IN (SELECT id FROM users);
+DELETE FROM comments WHERE post_id NOT IN (SELECT id FROM posts);
+DELETE FROM albums WHERE user_id NOT IN (SELECT id FROM users);
+DELETE FROM photos WHERE album_id NOT IN (SELECT id FROM albums);
+DELETE FROM todos WHERE user_id NOT IN (SELECT id FROM users);
+DELETE FROM user_todo_stats WHERE user_id NOT IN (SELECT id FROM users);
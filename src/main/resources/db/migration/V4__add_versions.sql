@@ -0,0 +1,25 @@
+-- Per-row version, incremented by Hibernate (@Version) on every update
+ALTER TABLE users ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
+
+-- Table-level change counters, bumped by triggers so every write path is covered
+CREATE TABLE table_versions (
+    table_name TEXT PRIMARY KEY,
+    version INTEGER NOT NULL
+);
+
+INSERT INTO table_versions (table_name, version) VALUES ('users', 0);
+
+CREATE TRIGGER users_version_after_insert AFTER INSERT ON users
+BEGIN
+    UPDATE table_versions SET version = version + 1 WHERE table_name = 'users';
+END;
+
+CREATE TRIGGER users_version_after_update AFTER UPDATE ON users
+BEGIN
+    UPDATE table_versions SET version = version + 1 WHERE table_name = 'users';
+END;
+
+CREATE TRIGGER users_version_after_delete AFTER DELETE ON users
+BEGIN
+    UPDATE table_versions SET version = version + 1 WHERE table_name = 'users';
+END;
@@ -0,0 +1,34 @@
+-- Full-text index over the searchable user columns. External content: the text lives in
+-- users and only the index is stored here, kept in sync by the triggers below.
+CREATE VIRTUAL TABLE users_fts USING fts5(
+    name,
+    username,
+    email,
+    city,
+    company_name,
+    content = 'users',
+    content_rowid = 'id',
+    tokenize = 'unicode61 remove_diacritics 2'
+);
+
+INSERT INTO users_fts (users_fts) VALUES ('rebuild');
+
+CREATE TRIGGER users_fts_after_insert AFTER INSERT ON users
+BEGIN
+    INSERT INTO users_fts (rowid, name, username, email, city, company_name)
+    VALUES (new.id, new.name, new.username, new.email, new.city, new.company_name);
+END;
+
+CREATE TRIGGER users_fts_after_delete AFTER DELETE ON users
+BEGIN
+    INSERT INTO users_fts (users_fts, rowid, name, username, email, city, company_name)
+    VALUES ('delete', old.id, old.name, old.username, old.email, old.city, old.company_name);
+END;
+
+CREATE TRIGGER users_fts_after_update AFTER UPDATE OF name, username, email, city, company_name ON users
+BEGIN
+    INSERT INTO users_fts (users_fts, rowid, name, username, email, city, company_name)
+    VALUES ('delete', old.id, old.name, old.username, old.email, old.city, old.company_name);
+    INSERT INTO users_fts (rowid, name, username, email, city, company_name)
+    VALUES (new.id, new.name, new.username, new.email, new.city, new.company_name);
+END;
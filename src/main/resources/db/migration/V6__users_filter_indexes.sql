@@ -0,0 +1,7 @@
+-- Filters compare case-insensitively, so the indexes are declared NOCASE and the queries
+-- must use the same collation to be able to use them.
+CREATE INDEX idx_users_username ON users (username COLLATE NOCASE);
+CREATE INDEX idx_users_email ON users (email COLLATE NOCASE);
+CREATE INDEX idx_users_city ON users (city COLLATE NOCASE);
+CREATE INDEX idx_users_zipcode ON users (zipcode COLLATE NOCASE);
+CREATE INDEX idx_users_company_name ON users (company_name COLLATE NOCASE);
@@ -0,0 +1,38 @@
+CREATE TABLE posts (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id INTEGER NOT NULL,
+    title TEXT NOT NULL,
+    body TEXT NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- Every index carries the rowid, so this also serves /users/{id}/posts keyset pages in id order
+CREATE INDEX idx_posts_user_id ON posts (user_id);
+
+-- Upstream layout: 100 posts, ten for each of the ten seeded users, in user order
+WITH RECURSIVE
+    seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100),
+    words(i, word) AS (VALUES
+        (0, 'sunt'), (1, 'aut'), (2, 'facere'), (3, 'repellat'), (4, 'provident'),
+        (5, 'occaecati'), (6, 'excepturi'), (7, 'optio'), (8, 'reprehenderit'), (9, 'quia'),
+        (10, 'et'), (11, 'suscipit'), (12, 'recusandae'), (13, 'consequuntur'), (14, 'expedita'),
+        (15, 'rerum'), (16, 'tempore'), (17, 'vitae'), (18, 'sequi'), (19, 'molestiae')),
+    seeded_users(id, position) AS (
+        SELECT id, ROW_NUMBER() OVER (ORDER BY id) FROM users)
+INSERT INTO posts (user_id, title, body)
+SELECT
+    u.id,
+    (SELECT word FROM words WHERE i = (seq.n * 7) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 3 + 1) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 11 + 5) % 20),
+    (SELECT word FROM words WHERE i = (seq.n * 13) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 17 + 2) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 5 + 9) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n + 3) % 20) || char(10)
+        || (SELECT word FROM words WHERE i = (seq.n * 9 + 4) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 19 + 6) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 15 + 8) % 20)
+FROM seq
+JOIN seeded_users u ON u.position = (seq.n - 1) / 10 + 1
+WHERE u.position <= 10
+ORDER BY seq.n;
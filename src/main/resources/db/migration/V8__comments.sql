@@ -0,0 +1,60 @@
+CREATE TABLE comments (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    post_id INTEGER NOT NULL,
+    name TEXT NOT NULL,
+    email TEXT NOT NULL,
+    body TEXT NOT NULL,
+    FOREIGN KEY (post_id) REFERENCES posts(id)
+);
+
+-- Keyset pages of one post's comments: post_id, then the implicit rowid
+CREATE INDEX idx_comments_post_id ON comments (post_id);
+
+-- Denormalised so post listings can show counts without a COUNT(*) per post. The triggers run
+-- inside the statement that changes comments, so the counter commits or rolls back with it.
+ALTER TABLE posts ADD COLUMN comment_count INTEGER NOT NULL DEFAULT 0;
+
+CREATE TRIGGER comments_count_after_insert AFTER INSERT ON comments
+BEGIN
+    UPDATE posts SET comment_count = comment_count + 1 WHERE id = new.post_id;
+END;
+
+CREATE TRIGGER comments_count_after_delete AFTER DELETE ON comments
+BEGIN
+    UPDATE posts SET comment_count = comment_count - 1 WHERE id = old.post_id;
+END;
+
+CREATE TRIGGER comments_count_after_update AFTER UPDATE OF post_id ON comments
+    WHEN old.post_id <> new.post_id
+BEGIN
+    UPDATE posts SET comment_count = comment_count - 1 WHERE id = old.post_id;
+    UPDATE posts SET comment_count = comment_count + 1 WHERE id = new.post_id;
+END;
+
+-- Upstream layout: 500 comments, five on each of the 100 seeded posts
+WITH RECURSIVE
+    seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 500),
+    words(i, word) AS (VALUES
+        (0, 'id'), (1, 'labore'), (2, 'ex'), (3, 'et'), (4, 'quam'),
+        (5, 'laborum'), (6, 'quo'), (7, 'vero'), (8, 'reiciendis'), (9, 'velit'),
+        (10, 'similique'), (11, 'earum'), (12, 'odio'), (13, 'adipisci'), (14, 'voluptas'),
+        (15, 'dolorem'), (16, 'nesciunt'), (17, 'alias'), (18, 'beatae'), (19, 'natus')),
+    seeded_posts(id, position) AS (
+        SELECT id, ROW_NUMBER() OVER (ORDER BY id) FROM posts)
+INSERT INTO comments (post_id, name, email, body)
+SELECT
+    p.id,
+    (SELECT word FROM words WHERE i = (seq.n * 7) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 3 + 1) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 11 + 5) % 20),
+    (SELECT word FROM words WHERE i = (seq.n * 13) % 20) || seq.n || '@'
+        || (SELECT word FROM words WHERE i = (seq.n * 17 + 2) % 20) || '.biz',
+    (SELECT word FROM words WHERE i = (seq.n * 5 + 9) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n + 3) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 9 + 4) % 20) || char(10)
+        || (SELECT word FROM words WHERE i = (seq.n * 19 + 6) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 15 + 8) % 20)
+FROM seq
+JOIN seeded_posts p ON p.position = (seq.n - 1) / 5 + 1
+WHERE p.position <= 100
+ORDER BY seq.n;
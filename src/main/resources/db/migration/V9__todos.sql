@@ -0,0 +1,71 @@
+CREATE TABLE todos (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id INTEGER NOT NULL,
+    title TEXT NOT NULL,
+    completed INTEGER NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- Serves /users/{id}/todos with and without ?completed=, in id order through the implicit rowid
+CREATE INDEX idx_todos_user_id_completed ON todos (user_id, completed);
+
+-- Open and done counts per user, kept current by the triggers below in the same transaction
+-- as the todo change, so reading the stats never scans todos
+CREATE TABLE user_todo_stats (
+    user_id INTEGER PRIMARY KEY,
+    open_count INTEGER NOT NULL DEFAULT 0,
+    done_count INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE TRIGGER todos_stats_after_insert AFTER INSERT ON todos
+BEGIN
+    INSERT OR IGNORE INTO user_todo_stats (user_id) VALUES (new.user_id);
+    UPDATE user_todo_stats
+    SET open_count = open_count + (new.completed = 0),
+        done_count = done_count + (new.completed <> 0)
+    WHERE user_id = new.user_id;
+END;
+
+CREATE TRIGGER todos_stats_after_delete AFTER DELETE ON todos
+BEGIN
+    UPDATE user_todo_stats
+    SET open_count = open_count - (old.completed = 0),
+        done_count = done_count - (old.completed <> 0)
+    WHERE user_id = old.user_id;
+END;
+
+CREATE TRIGGER todos_stats_after_update AFTER UPDATE OF user_id, completed ON todos
+    WHEN old.user_id <> new.user_id OR old.completed <> new.completed
+BEGIN
+    UPDATE user_todo_stats
+    SET open_count = open_count - (old.completed = 0),
+        done_count = done_count - (old.completed <> 0)
+    WHERE user_id = old.user_id;
+    INSERT OR IGNORE INTO user_todo_stats (user_id) VALUES (new.user_id);
+    UPDATE user_todo_stats
+    SET open_count = open_count + (new.completed = 0),
+        done_count = done_count + (new.completed <> 0)
+    WHERE user_id = new.user_id;
+END;
+
+-- Upstream layout: 200 todos, twenty for each of the ten seeded users, a bit under half done
+WITH RECURSIVE
+    seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 200),
+    words(i, word) AS (VALUES
+        (0, 'delectus'), (1, 'aut'), (2, 'autem'), (3, 'quis'), (4, 'ut'),
+        (5, 'nam'), (6, 'facilis'), (7, 'et'), (8, 'officia'), (9, 'qui'),
+        (10, 'fugiat'), (11, 'veritatis'), (12, 'laboriosam'), (13, 'mollitia'), (14, 'quo'),
+        (15, 'adipisci'), (16, 'illo'), (17, 'expedita'), (18, 'repellendus'), (19, 'voluptatem')),
+    seeded_users(id, position) AS (
+        SELECT id, ROW_NUMBER() OVER (ORDER BY id) FROM users)
+INSERT INTO todos (user_id, title, completed)
+SELECT
+    u.id,
+    (SELECT word FROM words WHERE i = (seq.n * 7) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 3 + 1) % 20) || ' '
+        || (SELECT word FROM words WHERE i = (seq.n * 11 + 5) % 20),
+    (seq.n * 7) % 9 < 4
+FROM seq
+JOIN seeded_users u ON u.position = (seq.n - 1) / 20 + 1
+WHERE u.position <= 10
+ORDER BY seq.n;
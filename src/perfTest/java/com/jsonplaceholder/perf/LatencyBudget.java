@@ -0,0 +1,44 @@
+package com.jsonplaceholder.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pass/fail limits for one endpoint. Defaults are set per test; each limit can be overridden
+ * with -Dperf.budget.{endpoint}.{p95|p99|error-rate|shed-rate}, latencies in milliseconds.
+ */
+record LatencyBudget(double p95Millis, double p99Millis, double maxErrorRate, double maxShedRate) {
+
+    LatencyBudget overriddenFor(String endpoint) {
+        String prefix = "perf.budget." + endpoint + ".";
+        return new LatencyBudget(
+                doubleProperty(prefix + "p95", p95Millis),
+                doubleProperty(prefix + "p99", p99Millis),
+                doubleProperty(prefix + "error-rate", maxErrorRate),
+                doubleProperty(prefix + "shed-rate", maxShedRate));
+    }
+
+    // Empty when the stats are within budget
+    List<String> violations(LoadDriver.EndpointStats stats) {
+        List<String> violations = new ArrayList<>();
+        if (stats.ok() == 0) {
+            violations.add(stats.endpoint() + ": no successful requests");
+        }
+        check(violations, stats.endpoint() + " p95", stats.percentileMillis(95), p95Millis, "ms");
+        check(violations, stats.endpoint() + " p99", stats.percentileMillis(99), p99Millis, "ms");
+        check(violations, stats.endpoint() + " error rate", stats.errorRate(), maxErrorRate, "");
+        check(violations, stats.endpoint() + " shed rate", stats.shedRate(), maxShedRate, "");
+        return violations;
+    }
+
+    private static void check(List<String> violations, String metric, double actual, double limit, String unit) {
+        if (actual > limit) {
+            violations.add(String.format("%s %.3f%s exceeds budget %.3f%s", metric, actual, unit, limit, unit));
+        }
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
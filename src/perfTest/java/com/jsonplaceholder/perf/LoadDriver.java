@@ -0,0 +1,193 @@
+package com.jsonplaceholder.perf;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator: each client sends its next request as soon as the
+ * previous one completes, for a fixed wall-clock duration. With several workloads each
+ * request picks one at random by weight, and latencies are kept per workload.
+ */
+final class LoadDriver {
+
+    private final HttpClient httpClient;
+    private final int clients;
+    private final Duration duration;
+
+    LoadDriver(int clients, Duration duration) {
+        this.clients = clients;
+        this.duration = duration;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    Result run(Supplier<HttpRequest> requests) throws Exception {
+        EndpointStats stats = run(List.of(new Workload("all", 1, requests))).get(0);
+        return new Result(stats.ok(), stats.shed() + stats.failed(), duration);
+    }
+
+    List<EndpointStats> run(List<Workload> workloads) throws Exception {
+        int totalWeight = workloads.stream().mapToInt(Workload::weight).sum();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<Recorder>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    Recorder recorder = new Recorder(workloads.size());
+                    while (System.nanoTime() < deadline) {
+                        int index = pick(workloads, ThreadLocalRandom.current().nextInt(totalWeight));
+                        recorder.record(index, send(workloads.get(index).requests().get()));
+                    }
+                    return recorder;
+                }));
+            }
+        }
+
+        Recorder total = new Recorder(workloads.size());
+        for (Future<Recorder> future : futures) {
+            total.merge(future.get());
+        }
+
+        List<EndpointStats> stats = new ArrayList<>();
+        for (int i = 0; i < workloads.size(); i++) {
+            stats.add(total.stats(i, workloads.get(i).endpoint(), duration));
+        }
+        return stats;
+    }
+
+    // Status -1 marks a request that failed without a response
+    private Sample send(HttpRequest request) {
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception ex) {
+            status = -1;
+        }
+        return new Sample(status, System.nanoTime() - start);
+    }
+
+    private static int pick(List<Workload> workloads, int roll) {
+        for (int i = 0; i < workloads.size(); i++) {
+            roll -= workloads.get(i).weight();
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return workloads.size() - 1;
+    }
+
+    record Workload(String endpoint, int weight, Supplier<HttpRequest> requests) {
+    }
+
+    record Result(long completed, long failed, Duration duration) {
+
+        double throughput() {
+            return completed / (duration.toMillis() / 1000.0);
+        }
+    }
+
+    /**
+     * Outcome counts and latency percentiles of one workload. Responses with 503 are counted
+     * as shed load rather than failures: the app sheds them deliberately when saturated.
+     */
+    record EndpointStats(String endpoint, long ok, long shed, long failed, Duration duration, long[] sortedNanos) {
+
+        long requests() {
+            return ok + shed + failed;
+        }
+
+        double throughput() {
+            return ok / (duration.toMillis() / 1000.0);
+        }
+
+        double errorRate() {
+            return requests() == 0 ? 0 : (double) failed / requests();
+        }
+
+        double shedRate() {
+            return requests() == 0 ? 0 : (double) shed / requests();
+        }
+
+        // Nearest-rank percentile, in milliseconds
+        double percentileMillis(double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+            return sortedNanos[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+
+        double maxMillis() {
+            return sortedNanos.length == 0 ? 0 : sortedNanos[sortedNanos.length - 1] / 1_000_000.0;
+        }
+    }
+
+    private record Sample(int status, long nanos) {
+    }
+
+    // Per-client, so recording needs no synchronisation; merged once the run is over
+    private static final class Recorder {
+        private final long[] ok;
+        private final long[] shed;
+        private final long[] failed;
+        private final long[][] latencies;
+        private final int[] sizes;
+
+        private Recorder(int workloads) {
+            ok = new long[workloads];
+            shed = new long[workloads];
+            failed = new long[workloads];
+            latencies = new long[workloads][1024];
+            sizes = new int[workloads];
+        }
+
+        private void record(int workload, Sample sample) {
+            if (sample.status() >= 200 && sample.status() < 400) {
+                ok[workload]++;
+            } else if (sample.status() == 503) {
+                shed[workload]++;
+            } else {
+                failed[workload]++;
+            }
+            add(workload, sample.nanos());
+        }
+
+        private void add(int workload, long nanos) {
+            if (sizes[workload] == latencies[workload].length) {
+                latencies[workload] = Arrays.copyOf(latencies[workload], sizes[workload] * 2);
+            }
+            latencies[workload][sizes[workload]++] = nanos;
+        }
+
+        private void merge(Recorder other) {
+            for (int i = 0; i < ok.length; i++) {
+                ok[i] += other.ok[i];
+                shed[i] += other.shed[i];
+                failed[i] += other.failed[i];
+                for (int j = 0; j < other.sizes[i]; j++) {
+                    add(i, other.latencies[i][j]);
+                }
+            }
+        }
+
+        private EndpointStats stats(int workload, String endpoint, Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies[workload], sizes[workload]);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, ok[workload], shed[workload], failed[workload], duration, sorted);
+        }
+    }
+}
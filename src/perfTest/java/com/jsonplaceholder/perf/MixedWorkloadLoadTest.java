@@ -0,0 +1,199 @@
+package com.jsonplaceholder.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsonplaceholder.JsonPlaceholderApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load scenarios over loopback against the app on a random port and a temporary
+ * SQLite file. Each scenario prints throughput and p50/p95/p99/max per endpoint, writes
+ * the same numbers as CSV to {@code perf.report-dir}, and fails when an endpoint exceeds
+ * its {@link LatencyBudget}.
+ * Tune with -Dperf.clients=..., -Dperf.duration=PT30S and -Dperf.warmup=PT5S.
+ */
+class MixedWorkloadLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("perf.clients", 50);
+    private static final Duration DURATION = Duration.parse(System.getProperty("perf.duration", "PT15S"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("perf.warmup", "PT5S"));
+    private static final String REPORT_DIR = System.getProperty("perf.report-dir");
+    private static final int SEEDED_USERS = 1000;
+    private static final String PASSWORD = "password123";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient setupClient = HttpClient.newHttpClient();
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private static Path database;
+    private static ConfigurableApplicationContext context;
+    private static String base;
+    private static String email;
+    private static String authorization;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        database = Files.createTempFile("mixed-load", ".db");
+        context = new SpringApplicationBuilder(JsonPlaceholderApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:sqlite:" + database,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        email = "perf-" + System.nanoTime() + "@example.com";
+        Map<?, ?> registered = postJson("/auth/register", Map.of(
+                "name", "Perf User", "username", "perf", "email", email, "password", PASSWORD), null);
+        authorization = "Bearer " + registered.get("token");
+
+        // Seed data has ids 1..10; add more so reads spread over more than a handful of rows
+        List<Map<String, String>> users = new ArrayList<>();
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            users.add(newUser());
+        }
+        postJson("/users/batch", users, authorization);
+    }
+
+    @AfterAll
+    static void stopApplication() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        Files.deleteIfExists(database);
+    }
+
+    @Test
+    void readHeavyMix() throws Exception {
+        runScenario("read-heavy-mix", List.of(
+                new LoadDriver.Workload("users-by-id", 70, () -> get("/users/" + randomUserId())),
+                new LoadDriver.Workload("users-list", 20, () -> get("/users?limit=20&after=" + randomUserId())),
+                new LoadDriver.Workload("auth-login", 5, MixedWorkloadLoadTest::login),
+                new LoadDriver.Workload("users-create", 5, MixedWorkloadLoadTest::createUser)),
+                Map.of(
+                        "users-by-id", new LatencyBudget(50, 100, 0.01, 0.0),
+                        "users-list", new LatencyBudget(100, 200, 0.01, 0.0),
+                        "auth-login", new LatencyBudget(1000, 2000, 0.01, 0.05),
+                        "users-create", new LatencyBudget(200, 500, 0.01, 0.01)));
+    }
+
+    @Test
+    void loginStorm() throws Exception {
+        // bcrypt saturates the hashing pool; shedding with 503 is the expected overload behaviour
+        runScenario("login-storm", List.of(
+                new LoadDriver.Workload("auth-login", 1, MixedWorkloadLoadTest::login)),
+                Map.of("auth-login", new LatencyBudget(2500, 3000, 0.01, 0.5)));
+    }
+
+    @Test
+    void writeBurst() throws Exception {
+        runScenario("write-burst", List.of(
+                new LoadDriver.Workload("users-create", 1, MixedWorkloadLoadTest::createUser)),
+                Map.of("users-create", new LatencyBudget(250, 500, 0.01, 0.01)));
+    }
+
+    private void runScenario(String scenario, List<LoadDriver.Workload> workloads, Map<String, LatencyBudget> budgets)
+            throws Exception {
+        new LoadDriver(CLIENTS, WARMUP).run(workloads);
+        List<LoadDriver.EndpointStats> results = new LoadDriver(CLIENTS, DURATION).run(workloads);
+
+        report(scenario, results);
+
+        List<String> violations = new ArrayList<>();
+        for (LoadDriver.EndpointStats stats : results) {
+            violations.addAll(budgets.get(stats.endpoint()).overriddenFor(stats.endpoint()).violations(stats));
+        }
+        assertTrue(violations.isEmpty(), scenario + " exceeded its budget:\n" + String.join("\n", violations));
+    }
+
+    private void report(String scenario, List<LoadDriver.EndpointStats> results) throws IOException {
+        List<String> csv = new ArrayList<>();
+        csv.add("endpoint,requests,ok,shed,failed,throughput,p50_ms,p95_ms,p99_ms,max_ms");
+
+        System.out.printf("%n%s: %d clients for %s%n", scenario, CLIENTS, DURATION);
+        System.out.printf("%-14s %9s %9s %6s %6s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "shed", "failed", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (LoadDriver.EndpointStats stats : results) {
+            System.out.printf("%-14s %9d %9.0f %6d %6d %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.endpoint(), stats.requests(), stats.throughput(), stats.shed(), stats.failed(),
+                    stats.percentileMillis(50), stats.percentileMillis(95), stats.percentileMillis(99),
+                    stats.maxMillis());
+            csv.add(String.format("%s,%d,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f",
+                    stats.endpoint(), stats.requests(), stats.ok(), stats.shed(), stats.failed(),
+                    stats.throughput(), stats.percentileMillis(50), stats.percentileMillis(95),
+                    stats.percentileMillis(99), stats.maxMillis()));
+        }
+
+        if (REPORT_DIR != null) {
+            Path reportDir = Files.createDirectories(Path.of(REPORT_DIR));
+            Files.write(reportDir.resolve(scenario + ".csv"), csv);
+        }
+    }
+
+    private static long randomUserId() {
+        return 1 + ThreadLocalRandom.current().nextLong(10 + SEEDED_USERS);
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(base + path)).GET().build();
+    }
+
+    private static HttpRequest login() {
+        return jsonRequest("/auth/login", Map.of("email", email, "password", PASSWORD), null);
+    }
+
+    private static HttpRequest createUser() {
+        return jsonRequest("/users", newUser(), authorization);
+    }
+
+    private static Map<String, String> newUser() {
+        long n = sequence.incrementAndGet();
+        return Map.of(
+                "name", "Load User " + n,
+                "username", "load" + n,
+                "email", "load" + n + "@example.com");
+    }
+
+    private static HttpRequest jsonRequest(String path, Object body, String authorization) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + path))
+                .header("Content-Type", "application/json");
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        try {
+            return builder.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))).build();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Map<?, ?> postJson(String path, Object body, String authorization) throws Exception {
+        HttpResponse<String> response = setupClient.send(
+                jsonRequest(path, body, authorization), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), path + " failed: " + response.body());
+        Object parsed = objectMapper.readValue(response.body(), Object.class);
+        return parsed instanceof Map<?, ?> map ? map : Map.of();
+    }
+}
@@ -0,0 +1,75 @@
+package com.jsonplaceholder.perf;
+
+import com.jsonplaceholder.JsonPlaceholderApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the same read-heavy workload against the app with platform request threads
+ * and with virtual request threads, and reports throughput for both. Fails when either run
+ * has errors, or when virtual threads fall short of {@code perf.min-speedup} times the
+ * platform-thread throughput.
+ * Tune with -Dperf.clients=..., -Dperf.duration=PT20S and -Dperf.min-speedup=1.2.
+ */
+class VirtualThreadThroughputTest {
+
+    private static final int CLIENTS = Integer.getInteger("perf.clients", 400);
+    private static final Duration DURATION = Duration.parse(System.getProperty("perf.duration", "PT15S"));
+    private static final double MIN_SPEEDUP = Double.parseDouble(System.getProperty("perf.min-speedup", "1.0"));
+
+    @Test
+    void compareThroughputWithPlatformAndVirtualThreads() throws Exception {
+        LoadDriver.Result platform = runWorkload(false);
+        LoadDriver.Result virtual = runWorkload(true);
+
+        System.out.printf("platform threads: %.0f req/s (%d failed)%n", platform.throughput(), platform.failed());
+        System.out.printf("virtual threads:  %.0f req/s (%d failed)%n", virtual.throughput(), virtual.failed());
+        double speedup = virtual.throughput() / platform.throughput();
+        System.out.printf("speed-up: %.2fx with %d concurrent clients%n", speedup, CLIENTS);
+
+        assertTrue(platform.completed() > 0, "platform-thread run completed no requests");
+        assertTrue(virtual.completed() > 0, "virtual-thread run completed no requests");
+        assertEquals(0, platform.failed(), "platform-thread run had failed requests");
+        assertEquals(0, virtual.failed(), "virtual-thread run had failed requests");
+        assertTrue(speedup >= MIN_SPEEDUP,
+                String.format("virtual threads reached %.2fx of platform throughput, expected at least %.2fx",
+                        speedup, MIN_SPEEDUP));
+    }
+
+    private LoadDriver.Result runWorkload(boolean virtualThreads) throws Exception {
+        Path database = Files.createTempFile("vt-load", ".db");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JsonPlaceholderApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:sqlite:" + database,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "cache.users.max-size=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+
+            // Seed data has ids 1..10; the user cache is disabled so every read reaches SQLite
+            return new LoadDriver(CLIENTS, DURATION).run(() -> {
+                boolean list = ThreadLocalRandom.current().nextInt(4) == 0;
+                String path = list ? "/users?limit=10" : "/users/" + (1 + ThreadLocalRandom.current().nextInt(10));
+                return HttpRequest.newBuilder(URI.create(base + path)).GET().build();
+            });
+        } finally {
+            Files.deleteIfExists(database);
+        }
+    }
+}
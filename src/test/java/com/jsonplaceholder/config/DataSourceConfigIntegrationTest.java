@@ -0,0 +1,132 @@
+package com.jsonplaceholder.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DataSourceConfigIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("readDataSource")
+    private HikariDataSource readDataSource;
+
+    @Value("${sqlite.pragmas.busy-timeout}")
+    private Duration busyTimeout;
+
+    @Value("${sqlite.pragmas.cache-size}")
+    private long cacheSize;
+
+    @Value("${sqlite.pragmas.mmap-size}")
+    private long mmapSize;
+
+    @Value("${exports.max-concurrent}")
+    private int maxConcurrentExports;
+
+    @Test
+    void readOnlyTransaction_ShouldUseTheReaderPool() {
+        // Arrange
+        double readers = acquisitions("sqlite-read-pool");
+        double writers = acquisitions("sqlite-write-pool");
+
+        // Act
+        Long users = readOnly().execute(status -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class));
+
+        // Assert
+        assertNotNull(users);
+        assertEquals(readers + 1, acquisitions("sqlite-read-pool"));
+        assertEquals(writers, acquisitions("sqlite-write-pool"));
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUseTheWriter() {
+        // Arrange
+        double readers = acquisitions("sqlite-read-pool");
+        double writers = acquisitions("sqlite-write-pool");
+
+        // Act
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class));
+
+        // Assert
+        assertEquals(readers, acquisitions("sqlite-read-pool"));
+        assertEquals(writers + 1, acquisitions("sqlite-write-pool"));
+    }
+
+    @Test
+    void readerConnections_ShouldBeReadOnly() {
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> readOnly().executeWithoutResult(
+                status -> jdbcTemplate.update("UPDATE users SET name = name WHERE id = -1")));
+    }
+
+    @Test
+    void writer_ShouldRunInWalModeWithConfiguredSynchronous() {
+        // Act
+        String journalMode = pragma("journal_mode", String.class, false);
+        Integer synchronous = pragma("synchronous", Integer.class, false);
+
+        // Assert
+        assertEquals("wal", journalMode.toLowerCase());
+        assertEquals(1, synchronous); // NORMAL
+    }
+
+    @Test
+    void bothPools_ShouldApplyTheConnectionPragmas() {
+        for (boolean readOnly : new boolean[] {true, false}) {
+            // Act
+            Long timeout = pragma("busy_timeout", Long.class, readOnly);
+            Long cache = pragma("cache_size", Long.class, readOnly);
+            Long mmap = pragma("mmap_size", Long.class, readOnly);
+            String journalMode = pragma("journal_mode", String.class, readOnly);
+
+            // Assert
+            assertEquals(busyTimeout.toMillis(), timeout);
+            assertEquals(cacheSize, cache);
+            assertEquals(mmapSize, mmap);
+            assertEquals("wal", journalMode.toLowerCase());
+        }
+    }
+
+    @Test
+    void readerPool_ShouldLeaveRoomForExports() {
+        // Assert
+        assertEquals(Runtime.getRuntime().availableProcessors() + maxConcurrentExports,
+                readDataSource.getMaximumPoolSize());
+    }
+
+    private <T> T pragma(String name, Class<T> type, boolean readOnly) {
+        TransactionTemplate template = readOnly ? readOnly() : new TransactionTemplate(transactionManager);
+        return template.execute(status -> jdbcTemplate.queryForObject("PRAGMA " + name, type));
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private double acquisitions(String pool) {
+        return meterRegistry.get("hikaricp.connections.acquire").tag("pool", pool).timer().count();
+    }
+}
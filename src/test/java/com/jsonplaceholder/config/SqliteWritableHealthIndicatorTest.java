@@ -0,0 +1,65 @@
+package com.jsonplaceholder.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqliteWritableHealthIndicatorTest {
+
+    private Path database;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = Files.createTempFile("health", ".db");
+        url = "jdbc:sqlite:" + database;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(database);
+    }
+
+    @Test
+    void health_WhenDatabaseIsWritable_ShouldBeUp() {
+        // Arrange
+        SqliteWritableHealthIndicator indicator = new SqliteWritableHealthIndicator(url, Duration.ofMillis(100));
+
+        // Act
+        Health health = indicator.health();
+
+        // Assert
+        assertEquals(Status.UP, health.getStatus());
+        assertFalse(health.getDetails().containsKey("busy"));
+    }
+
+    @Test
+    void health_WhenAnotherWriterHoldsTheLock_ShouldStillBeUp() throws Exception {
+        // Arrange
+        SqliteWritableHealthIndicator indicator = new SqliteWritableHealthIndicator(url, Duration.ofMillis(100));
+
+        try (Connection writer = DriverManager.getConnection(url);
+             Statement statement = writer.createStatement()) {
+            statement.execute("BEGIN IMMEDIATE");
+
+            // Act
+            Health health = indicator.health();
+
+            // Assert
+            assertEquals(Status.UP, health.getStatus());
+            assertEquals(true, health.getDetails().get("busy"));
+            statement.execute("ROLLBACK");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.jsonplaceholder.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsonplaceholder.dto.CommentDto;
+import com.jsonplaceholder.model.Comment;
+import com.jsonplaceholder.model.Post;
+import com.jsonplaceholder.repository.CommentRepository;
+import com.jsonplaceholder.repository.PostRepository;
+import com.jsonplaceholder.security.JwtTokenProvider;
+import com.jsonplaceholder.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CommentControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private String authToken;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+
+        Post newPost = new Post();
+        newPost.setUserId(1L);
+        newPost.setTitle("Commented post");
+        newPost.setBody("Body");
+        post = postRepository.save(newPost);
+
+        UserPrincipal principal = new UserPrincipal(1L, "Test User", "test@example.com", "password",
+                Collections.emptyList());
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        authToken = "Bearer " + tokenProvider.generateToken(authentication);
+    }
+
+    @Test
+    void createAndDeleteComment_ShouldKeepPostCommentCountInStep() throws Exception {
+        // Arrange
+        CommentDto comment = new CommentDto();
+        comment.setPostId(post.getId());
+        comment.setName("id labore ex et quam laborum");
+        comment.setEmail("Eliseo@gardner.biz");
+        comment.setBody("laudantium enim quasi est quidem magnam voluptate");
+
+        // Act
+        String created = mockMvc.perform(post("/comments")
+                .header("Authorization", authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(comment)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.postId").value(post.getId()))
+                .andReturn().getResponse().getContentAsString();
+        Long commentId = objectMapper.readValue(created, CommentDto.class).getId();
+
+        // Assert
+        mockMvc.perform(get("/posts/{id}", post.getId()))
+                .andExpect(jsonPath("$.commentCount").value(1));
+
+        mockMvc.perform(delete("/comments/{id}", commentId).header("Authorization", authToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/posts/{id}", post.getId()))
+                .andExpect(jsonPath("$.commentCount").value(0));
+    }
+
+    @Test
+    void createComment_WhenPostDoesNotExist_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        CommentDto comment = new CommentDto();
+        comment.setPostId(Long.MAX_VALUE);
+        comment.setName("orphan");
+        comment.setEmail("orphan@example.com");
+        comment.setBody("body");
+
+        // Act & Assert
+        mockMvc.perform(post("/comments")
+                .header("Authorization", authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(comment)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getCommentsByPost_WithLimit_ShouldReturnNextPageLink() throws Exception {
+        // Arrange
+        Comment first = null;
+        for (int i = 0; i < 3; i++) {
+            Comment comment = new Comment();
+            comment.setPostId(post.getId());
+            comment.setName("Comment " + i);
+            comment.setEmail("c" + i + "@example.com");
+            comment.setBody("Body " + i);
+            Comment saved = commentRepository.save(comment);
+            if (first == null) {
+                first = saved;
+            }
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/posts/{id}/comments", post.getId()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Comment 0"))
+                .andExpect(header().string("Link", containsString("after=" + first.getId())));
+
+        mockMvc.perform(get("/comments").param("postId", post.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(header().doesNotExist("Link"));
+    }
+}
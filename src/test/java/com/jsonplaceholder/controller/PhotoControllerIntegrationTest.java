@@ -0,0 +1,92 @@
+package com.jsonplaceholder.controller;
+
+import com.jsonplaceholder.model.Album;
+import com.jsonplaceholder.model.Photo;
+import com.jsonplaceholder.repository.AlbumRepository;
+import com.jsonplaceholder.repository.PhotoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PhotoControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    private Album album;
+    private List<Photo> photos;
+
+    @BeforeEach
+    void setUp() {
+        Album newAlbum = new Album();
+        newAlbum.setUserId(1L);
+        newAlbum.setTitle("quidem molestiae enim");
+        album = albumRepository.save(newAlbum);
+
+        photos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Photo photo = new Photo();
+            photo.setAlbumId(album.getId());
+            photo.setTitle("Photo " + i);
+            photo.setUrl("https://via.placeholder.com/600/92c952");
+            photo.setThumbnailUrl("https://via.placeholder.com/150/92c952");
+            photos.add(photoRepository.save(photo));
+        }
+    }
+
+    @Test
+    void getAllPhotos_ShouldStreamEveryPhotoAsOneArray() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/photos"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(photoRepository.count()))
+                .andExpect(jsonPath("$[-1].title").value("Photo 2"))
+                .andExpect(jsonPath("$[-1].thumbnailUrl").value("https://via.placeholder.com/150/92c952"));
+    }
+
+    @Test
+    void getPhotosByAlbum_WithLimit_ShouldReturnNextPageLink() throws Exception {
+        mockMvc.perform(get("/albums/{id}/photos", album.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].albumId").value(album.getId()))
+                .andExpect(header().string("Link", containsString("after=" + photos.get(1).getId())));
+
+        mockMvc.perform(get("/photos").param("albumId", album.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void getAlbumById_ShouldReturnAlbum() throws Exception {
+        mockMvc.perform(get("/albums/{id}", album.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(1))
+                .andExpect(jsonPath("$.title").value("quidem molestiae enim"));
+    }
+}
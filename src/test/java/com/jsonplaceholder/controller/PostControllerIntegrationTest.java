@@ -0,0 +1,134 @@
+package com.jsonplaceholder.controller;
+
+import com.jsonplaceholder.config.StatementCountingInspector;
+import com.jsonplaceholder.model.Post;
+import com.jsonplaceholder.model.User;
+import com.jsonplaceholder.repository.PostRepository;
+import com.jsonplaceholder.repository.UserRepository;
+import com.jsonplaceholder.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostService postService;
+
+    private User author;
+    private User otherAuthor;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll();
+        author = userRepository.save(newUser("post-author"));
+        otherAuthor = userRepository.save(newUser("other-author"));
+    }
+
+    @Test
+    void getAllPosts_WithLimit_ShouldReturnNextPageLink() throws Exception {
+        // Arrange
+        List<Post> posts = savePosts(author, 3);
+
+        // Act & Assert
+        mockMvc.perform(get("/posts").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Post 0"))
+                .andExpect(jsonPath("$[0].userId").value(author.getId()))
+                .andExpect(header().string("Link", containsString("after=" + posts.get(1).getId())));
+
+        mockMvc.perform(get("/posts").param("after", posts.get(1).getId().toString()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void getPostsByUser_ShouldReturnOnlyThatUsersPosts() throws Exception {
+        // Arrange
+        savePosts(author, 2);
+        savePosts(otherAuthor, 3);
+
+        // Act & Assert
+        mockMvc.perform(get("/users/{id}/posts", otherAuthor.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[*].userId").value(everyItem(is(otherAuthor.getId().intValue()))));
+
+        mockMvc.perform(get("/users/{id}/posts", Long.MAX_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void getPostById_WhenPostDoesNotExist_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/posts/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getPosts_ShouldIssueOneStatementWhateverThePageSize() {
+        // Arrange
+        savePosts(author, 50);
+
+        // Act
+        int small = countStatements(() -> postService.getPostsByUser(author.getId(), null, 5));
+        int large = countStatements(() -> postService.getPostsByUser(author.getId(), null, 50));
+
+        // Assert
+        assertEquals(1, small);
+        assertEquals(small, large);
+        assertEquals(small, countStatements(() -> postService.getAllPosts(null, 50)));
+    }
+
+    private static int countStatements(Runnable action) {
+        StatementCountingInspector.reset();
+        action.run();
+        return StatementCountingInspector.current();
+    }
+
+    private List<Post> savePosts(User user, int count) {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Post post = new Post();
+            post.setUserId(user.getId());
+            post.setTitle("Post " + i);
+            post.setBody("Body " + i);
+            posts.add(post);
+        }
+        return postRepository.saveAll(posts);
+    }
+
+    private static User newUser(String username) {
+        User user = new User();
+        user.setName("Post Author");
+        user.setUsername(username);
+        user.setEmail(username + "-" + System.nanoTime() + "@example.com");
+        return user;
+    }
+}
@@ -0,0 +1,186 @@
+package com.jsonplaceholder.controller;
+
+import com.jsonplaceholder.config.StatementCountingInspector;
+import com.jsonplaceholder.model.Comment;
+import com.jsonplaceholder.model.Post;
+import com.jsonplaceholder.model.Todo;
+import com.jsonplaceholder.model.User;
+import com.jsonplaceholder.repository.CommentRepository;
+import com.jsonplaceholder.repository.PostRepository;
+import com.jsonplaceholder.repository.TodoRepository;
+import com.jsonplaceholder.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RelationsIntegrationTest {
+
+    private static final int COUNT = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private List<User> users;
+    private List<Post> posts;
+
+    // Every user gets a post and a todo, every post two comments
+    @BeforeEach
+    void setUp() {
+        users = new ArrayList<>();
+        posts = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            User user = new User();
+            user.setName("Related User " + i);
+            user.setUsername("related" + i + "-" + System.nanoTime());
+            user.setEmail(user.getUsername() + "@example.com");
+            users.add(userRepository.save(user));
+
+            Post post = new Post();
+            post.setUserId(user.getId());
+            post.setTitle("Related post " + i);
+            post.setBody("Body " + i);
+            posts.add(postRepository.save(post));
+
+            for (int j = 0; j < 2; j++) {
+                Comment comment = new Comment();
+                comment.setPostId(post.getId());
+                comment.setName("Comment " + j);
+                comment.setEmail("c" + j + "@example.com");
+                comment.setBody("Body " + j);
+                commentRepository.save(comment);
+            }
+
+            Todo todo = new Todo();
+            todo.setUserId(user.getId());
+            todo.setTitle("Related todo " + i);
+            todo.setCompleted(false);
+            todoRepository.save(todo);
+        }
+    }
+
+    @Test
+    void getUserById_WithEmbed_ShouldIncludeChildren() throws Exception {
+        User user = users.get(0);
+
+        mockMvc.perform(get("/users/{id}", user.getId()).param("_embed", "posts,todos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(user.getUsername()))
+                .andExpect(jsonPath("$.posts.length()").value(1))
+                .andExpect(jsonPath("$.posts[0].title").value("Related post 0"))
+                .andExpect(jsonPath("$.todos[0].title").value("Related todo 0"))
+                .andExpect(jsonPath("$.albums").doesNotExist());
+    }
+
+    @Test
+    void getPosts_WithEmbedAndExpand_ShouldAttachCommentsAndUser() throws Exception {
+        Post post = posts.get(0);
+
+        mockMvc.perform(get("/posts/{id}", post.getId())
+                        .param("_embed", "comments")
+                        .param("_expand", "user"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments.length()").value(2))
+                .andExpect(jsonPath("$.comments[0].postId").value(post.getId()))
+                .andExpect(jsonPath("$.user.id").value(post.getUserId()))
+                .andExpect(jsonPath("$.user.name").value("Related User 0"));
+
+        mockMvc.perform(get("/comments").param("postId", post.getId().toString()).param("_expand", "post"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].post.title").value("Related post 0"));
+    }
+
+    @Test
+    void getPosts_WithUnknownRelation_ShouldReturnBadRequest() throws Exception {
+        StatementCountingInspector.reset();
+
+        mockMvc.perform(get("/posts").param("_embed", "photos"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown relation: photos"));
+
+        // Refused before the page is read
+        assertEquals(0, StatementCountingInspector.current());
+    }
+
+    @Test
+    void unsupportedRelations_ShouldReturnBadRequestInsteadOfBeingIgnored() throws Exception {
+        Long userId = users.get(0).getId();
+
+        mockMvc.perform(get("/users").param("q", "Related").param("_embed", "posts"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Relation posts is not supported together with q"));
+        mockMvc.perform(get("/users").param("fields", "id,name").param("_embed", "posts"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Relation posts is not supported together with fields"));
+        mockMvc.perform(get("/users/{id}", userId).param("fields", "id").param("_expand", "user"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/users").param("_expand", "user"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown relation: user"));
+        mockMvc.perform(get("/users/{id}", userId).param("_expand", "user"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/users/{id}", userId).param("_embed", "posts").param("_expand", "user"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/photos").param("_expand", "album"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Relation album is not supported on the full /photos listing; use /photos?albumId="));
+    }
+
+    @Test
+    void relations_ShouldIssueOneStatementPerRelationWhateverThePageSize() throws Exception {
+        // Arrange
+        String firstPost = Long.toString(posts.get(0).getId() - 1);
+        String firstUser = Long.toString(users.get(0).getId() - 1);
+
+        // Act
+        int smallPosts = countStatements(get("/posts")
+                .param("after", firstPost).param("limit", "5")
+                .param("_embed", "comments").param("_expand", "user"));
+        int largePosts = countStatements(get("/posts")
+                .param("after", firstPost).param("limit", Integer.toString(COUNT))
+                .param("_embed", "comments").param("_expand", "user"));
+        int smallUsers = countStatements(get("/users")
+                .param("after", firstUser).param("limit", "5")
+                .param("_embed", "posts", "todos"));
+        int largeUsers = countStatements(get("/users")
+                .param("after", firstUser).param("limit", Integer.toString(COUNT))
+                .param("_embed", "posts", "todos"));
+
+        // Assert
+        assertEquals(3, smallPosts);
+        assertEquals(smallPosts, largePosts);
+        assertEquals(3, smallUsers);
+        assertEquals(smallUsers, largeUsers);
+    }
+
+    private int countStatements(RequestBuilder request) throws Exception {
+        StatementCountingInspector.reset();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return StatementCountingInspector.current();
+    }
+}
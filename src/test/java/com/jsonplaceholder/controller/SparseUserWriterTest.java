@@ -0,0 +1,59 @@
+package com.jsonplaceholder.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsonplaceholder.repository.UnknownFieldException;
+import com.jsonplaceholder.repository.UserField;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseUserWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writeObject_ShouldNestFieldsAndSkipUnrequestedId() throws Exception {
+        // Arrange
+        Set<UserField> fields = UserField.parse("name,address.city,address.geo,company.name");
+        // id, name, city, lat, lng, company_name
+        Object[] row = {7L, "Leanne Graham", "Gwenborough", "-37.3159", "81.1496", "Romaguera-Crona"};
+
+        // Act
+        String json = write(fields, row);
+
+        // Assert
+        assertEquals("{\"name\":\"Leanne Graham\","
+                + "\"address\":{\"city\":\"Gwenborough\",\"geo\":{\"lat\":\"-37.3159\",\"lng\":\"81.1496\"}},"
+                + "\"company\":{\"name\":\"Romaguera-Crona\"}}", json);
+    }
+
+    @Test
+    void writeObject_ShouldWriteNullsAndNumericId() throws Exception {
+        // Arrange
+        Set<UserField> fields = UserField.parse("id,phone");
+
+        // Act
+        String json = write(fields, new Object[]{3, null});
+
+        // Assert
+        assertEquals("{\"id\":3,\"phone\":null}", json);
+    }
+
+    @Test
+    void parse_WhenFieldIsUnknown_ShouldThrow() {
+        assertThrows(UnknownFieldException.class, () -> UserField.parse("id,password"));
+        assertThrows(UnknownFieldException.class, () -> UserField.parse(" , "));
+    }
+
+    private String write(Set<UserField> fields, Object[] row) throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            new SparseUserWriter(fields).writeObject(generator, row);
+        }
+        return out.toString();
+    }
+}
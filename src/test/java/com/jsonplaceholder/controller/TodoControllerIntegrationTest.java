@@ -0,0 +1,150 @@
+package com.jsonplaceholder.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsonplaceholder.dto.TodoDto;
+import com.jsonplaceholder.model.Todo;
+import com.jsonplaceholder.model.User;
+import com.jsonplaceholder.repository.TodoRepository;
+import com.jsonplaceholder.repository.UserRepository;
+import com.jsonplaceholder.security.JwtTokenProvider;
+import com.jsonplaceholder.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TodoControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private String authToken;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setName("Todo Owner");
+        newUser.setUsername("todo" + System.nanoTime());
+        newUser.setEmail(newUser.getUsername() + "@example.com");
+        user = userRepository.save(newUser);
+
+        UserPrincipal principal = new UserPrincipal(1L, "Test User", "test@example.com", "password",
+                Collections.emptyList());
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        authToken = "Bearer " + tokenProvider.generateToken(authentication);
+    }
+
+    @Test
+    void createToggleAndDeleteTodo_ShouldKeepStatsInStep() throws Exception {
+        // Arrange
+        TodoDto todo = new TodoDto();
+        todo.setUserId(user.getId());
+        todo.setTitle("delectus aut autem");
+
+        // Act
+        String created = mockMvc.perform(post("/todos")
+                .header("Authorization", authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(todo)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(false))
+                .andReturn().getResponse().getContentAsString();
+        Long todoId = objectMapper.readValue(created, TodoDto.class).getId();
+
+        // Assert
+        mockMvc.perform(get("/users/{id}/todos/stats", user.getId()))
+                .andExpect(jsonPath("$.open").value(1))
+                .andExpect(jsonPath("$.done").value(0));
+
+        mockMvc.perform(patch("/todos/{id}", todoId)
+                .header("Authorization", authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("completed", true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.title").value("delectus aut autem"));
+
+        mockMvc.perform(get("/users/{id}/todos/stats", user.getId()))
+                .andExpect(jsonPath("$.open").value(0))
+                .andExpect(jsonPath("$.done").value(1));
+
+        mockMvc.perform(delete("/todos/{id}", todoId).header("Authorization", authToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/users/{id}/todos/stats", user.getId()))
+                .andExpect(jsonPath("$.open").value(0))
+                .andExpect(jsonPath("$.done").value(0));
+    }
+
+    @Test
+    void getTodosByUser_WithCompletedFilter_ShouldReturnMatchingTodos() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            Todo todo = new Todo();
+            todo.setUserId(user.getId());
+            todo.setTitle("Todo " + i);
+            todo.setCompleted(i == 0);
+            todoRepository.save(todo);
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/users/{id}/todos", user.getId()).param("completed", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Todo 0"));
+
+        mockMvc.perform(get("/todos")
+                .param("userId", user.getId().toString())
+                .param("completed", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(get("/users/{id}/todos/stats", user.getId()))
+                .andExpect(jsonPath("$.userId").value(user.getId()))
+                .andExpect(jsonPath("$.open").value(2))
+                .andExpect(jsonPath("$.done").value(1));
+    }
+
+    @Test
+    void createTodo_WhenUserDoesNotExist_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        TodoDto todo = new TodoDto();
+        todo.setUserId(Long.MAX_VALUE);
+        todo.setTitle("orphan");
+
+        // Act & Assert
+        mockMvc.perform(post("/todos")
+                .header("Authorization", authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(todo)))
+                .andExpect(status().isNotFound());
+    }
+}
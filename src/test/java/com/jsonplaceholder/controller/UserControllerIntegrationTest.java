@@ -2,6 +2,7 @@ package com.jsonplaceholder.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jsonplaceholder.dto.UserDto;
+import com.jsonplaceholder.model.Address;
 import com.jsonplaceholder.model.User;
 import com.jsonplaceholder.repository.UserRepository;
 import com.jsonplaceholder.security.JwtTokenProvider;
@@ -12,12 +13,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +48,9 @@ class UserControllerIntegrationTest {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String authToken;
     private UserDto testUserDto;
 
@@ -91,6 +104,153 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].email").value("test@example.com"));
     }
 
+    @Test
+    void getAllUsers_WithLimit_ShouldReturnNextPageLink() throws Exception {
+        // Arrange
+        User first = new User();
+        first.setName("First User");
+        first.setUsername("first");
+        first.setEmail("first@example.com");
+        first = userRepository.save(first);
+
+        User second = new User();
+        second.setName("Second User");
+        second.setUsername("second");
+        second.setEmail("second@example.com");
+        userRepository.save(second);
+
+        // Act & Assert
+        mockMvc.perform(get("/users").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("first"))
+                .andExpect(header().string("Link", containsString("after=" + first.getId())));
+
+        mockMvc.perform(get("/users").param("after", first.getId().toString()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("second"))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void getAllUsers_WithFilters_ShouldMatchIgnoringCase() throws Exception {
+        // Arrange
+        User bret = new User();
+        bret.setName("Leanne Graham");
+        bret.setUsername("Bret");
+        bret.setEmail("Sincere@april.biz");
+        userRepository.save(bret);
+
+        User antonette = new User();
+        antonette.setName("Ervin Howell");
+        antonette.setUsername("Antonette");
+        antonette.setEmail("Shanna@melissa.tv");
+        userRepository.save(antonette);
+
+        User samantha = new User();
+        samantha.setName("Clementine Bauch");
+        samantha.setUsername("Samantha");
+        samantha.setEmail("Nathan@yesenia.net");
+        userRepository.save(samantha);
+
+        // Act & Assert
+        mockMvc.perform(get("/users").param("username", "bret"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("Bret"))
+                .andExpect(header().doesNotExist("X-Total-Count"));
+
+        mockMvc.perform(get("/users").param("username", "Bret").param("username", "SAMANTHA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].username").value("Bret"))
+                .andExpect(jsonPath("$[1].username").value("Samantha"));
+
+        mockMvc.perform(get("/users").param("username", "Bret").param("email", "shanna@melissa.tv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void getAllUsers_WithFields_ShouldReturnOnlySelectedFields() throws Exception {
+        // Arrange
+        Address address = new Address();
+        address.setStreet("Kulas Light");
+        address.setCity("Gwenborough");
+        User user = new User();
+        user.setName("Leanne Graham");
+        user.setUsername("Bret");
+        user.setEmail("Sincere@april.biz");
+        user.setAddress(address);
+        user = userRepository.save(user);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/users").param("fields", "name,address.city"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Leanne Graham"))
+                .andExpect(jsonPath("$[0].address.city").value("Gwenborough"))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].username").doesNotExist())
+                .andExpect(jsonPath("$[0].address.street").doesNotExist());
+
+        MvcResult byId = mockMvc.perform(get("/users/" + user.getId()).param("fields", "id,username"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(byId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId()))
+                .andExpect(jsonPath("$.username").value("Bret"))
+                .andExpect(jsonPath("$.name").doesNotExist());
+    }
+
+    @Test
+    void getAllUsers_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/users").param("fields", "id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown field: password"));
+    }
+
+    @Test
+    void searchUsers_ShouldRankMatchesAndFollowEdits() throws Exception {
+        // Arrange
+        User byName = new User();
+        byName.setName("Clementine Bauch");
+        byName.setUsername("samantha");
+        byName.setEmail("nathan@yesenia.net");
+        byName = userRepository.save(byName);
+
+        User byEmail = new User();
+        byEmail.setName("Patricia Lebsack");
+        byEmail.setUsername("karianne");
+        byEmail.setEmail("clementine@kory.org");
+        userRepository.save(byEmail);
+
+        // Act & Assert
+        mockMvc.perform(get("/users").param("q", "clem").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("samantha"))
+                .andExpect(header().string("Link", containsString("offset=1")));
+
+        mockMvc.perform(get("/users").param("q", "clem").param("offset", "1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("karianne"))
+                .andExpect(header().doesNotExist("Link"));
+
+        byName.setName("Leanne Graham");
+        userRepository.save(byName);
+
+        mockMvc.perform(get("/users").param("q", "clem"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("karianne"));
+    }
+
     @Test
     void getUserById_WhenUserExists_ShouldReturnUser() throws Exception {
         // Arrange
@@ -109,6 +269,137 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.email").value("test@example.com"));
     }
 
+    @Test
+    void getUserById_WithMatchingETag_ShouldReturnNotModifiedUntilUserChanges() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setName("Test User");
+        user.setUsername("testuser");
+        user.setEmail("test@example.com");
+        User savedUser = userRepository.save(user);
+
+        String etag = mockMvc.perform(get("/users/{id}", savedUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/users/{id}", savedUser.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/users/{id}", savedUser.getId())
+                .header("Authorization", authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testUserDto)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users/{id}", savedUser.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Test User"));
+    }
+
+    @Test
+    void getAllUsers_WithMatchingETag_ShouldReturnNotModifiedUntilTableChanges() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/users").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        User user = new User();
+        user.setName("Test User");
+        user.setUsername("testuser");
+        user.setEmail("test@example.com");
+        userRepository.save(user);
+
+        mockMvc.perform(get("/users").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("testuser"));
+    }
+
+    @Test
+    void getAllUsers_WhenClientAcceptsGzip_ShouldServePrecompressedBody() throws Exception {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            User user = new User();
+            user.setName("Gzip User " + i);
+            user.setUsername("gzip" + i);
+            user.setEmail("gzip" + i + "@example.com");
+            userRepository.save(user);
+        }
+
+        // Act
+        byte[] gzipped = mockMvc.perform(get("/users").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+        String identity = mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertEquals(identity, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void getAllUsers_ShouldTagEachEncodingSeparatelyAndRevalidateBoth() throws Exception {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            User user = new User();
+            user.setName("Tagged User " + i);
+            user.setUsername("tagged" + i);
+            user.setEmail("tagged" + i + "@example.com");
+            userRepository.save(user);
+        }
+        String gzipEtag = mockMvc.perform(get("/users").header("Accept-Encoding", "gzip"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getHeader("ETag");
+        String identityEtag = mockMvc.perform(get("/users"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Assert
+        assertFalse(gzipEtag.startsWith("W/"), gzipEtag);
+        assertFalse(identityEtag.startsWith("W/"), identityEtag);
+        assertEquals(identityEtag.substring(0, identityEtag.length() - 1) + "-gzip\"", gzipEtag);
+
+        mockMvc.perform(get("/users").header("Accept-Encoding", "gzip").header("If-None-Match", gzipEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", gzipEtag));
+        mockMvc.perform(get("/users").header("If-None-Match", identityEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", identityEtag));
+    }
+
+    @Test
+    void getAllUsers_WhenClientRefusesGzip_ShouldServeIdentityBody() throws Exception {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            User user = new User();
+            user.setName("Identity User " + i);
+            user.setUsername("identity" + i);
+            user.setEmail("identity" + i + "@example.com");
+            userRepository.save(user);
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/users").header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", not(endsWith("-gzip\""))))
+                .andExpect(jsonPath("$[0].username").value("identity0"));
+        mockMvc.perform(get("/users").header("Accept-Encoding", "*;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
     @Test
     void getUserById_WhenUserDoesNotExist_ShouldReturnNotFound() throws Exception {
         // Act & Assert
@@ -154,6 +445,63 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.email").value("test@example.com"));
     }
 
+    @Test
+    void patchUser_ShouldChangeOnlyPatchedFields() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setName("Leanne Graham");
+        user.setUsername("Bret");
+        user.setEmail("Sincere@april.biz");
+        user.setPhone("1-770-736-8031");
+        user.setWebsite("hildegard.org");
+        User savedUser = userRepository.save(user);
+
+        // Cache the current representation so the patch has to evict it
+        mockMvc.perform(get("/users/{id}", savedUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phone").value("1-770-736-8031"));
+
+        // Act & Assert
+        mockMvc.perform(patch("/users/{id}", savedUser.getId())
+                .header("Authorization", authToken)
+                .contentType("application/merge-patch+json")
+                .content("{\"phone\":\"555-0100\",\"website\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"user-" + savedUser.getId() + "-1\""))
+                .andExpect(jsonPath("$.name").value("Leanne Graham"))
+                .andExpect(jsonPath("$.phone").value("555-0100"))
+                .andExpect(jsonPath("$.website").isEmpty());
+
+        mockMvc.perform(get("/users/{id}", savedUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phone").value("555-0100"))
+                .andExpect(jsonPath("$.email").value("Sincere@april.biz"));
+    }
+
+    @Test
+    void patchUser_WithInvalidPatch_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setName("Leanne Graham");
+        user.setUsername("Bret");
+        user.setEmail("Sincere@april.biz");
+        User savedUser = userRepository.save(user);
+
+        // Act & Assert
+        mockMvc.perform(patch("/users/{id}", savedUser.getId())
+                .header("Authorization", authToken)
+                .contentType("application/merge-patch+json")
+                .content("{\"username\":null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("username cannot be null"));
+
+        mockMvc.perform(patch("/users/{id}", savedUser.getId() + 1000)
+                .header("Authorization", authToken)
+                .contentType("application/merge-patch+json")
+                .content("{\"phone\":\"555-0100\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void updateUser_WhenUserDoesNotExist_ShouldReturnNotFound() throws Exception {
         // Act & Assert
@@ -181,6 +529,47 @@ class UserControllerIntegrationTest {
         assertFalse(userRepository.existsById(savedUser.getId()));
     }
 
+    @Test
+    void deleteUser_ShouldDeleteTheUsersContent() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setName("Test User");
+        user.setUsername("testuser");
+        user.setEmail("test@example.com");
+        User savedUser = userRepository.save(user);
+        addContent(savedUser.getId());
+
+        // Act
+        mockMvc.perform(delete("/users/{id}", savedUser.getId())
+                .header("Authorization", authToken))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        assertNoContentLeft(savedUser.getId());
+    }
+
+    @Test
+    void deleteUsers_ShouldDeleteTheUsersContent() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setName("Test User");
+        user.setUsername("testuser");
+        user.setEmail("test@example.com");
+        User savedUser = userRepository.save(user);
+        addContent(savedUser.getId());
+
+        // Act
+        mockMvc.perform(delete("/users/batch")
+                .header("Authorization", authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(savedUser.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(204));
+
+        // Assert
+        assertNoContentLeft(savedUser.getId());
+    }
+
     @Test
     void deleteUser_WhenUserDoesNotExist_ShouldReturnNotFound() throws Exception {
         // Act & Assert
@@ -188,4 +577,77 @@ class UserControllerIntegrationTest {
                 .header("Authorization", authToken))
                 .andExpect(status().isNotFound());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void createUsers_ShouldInsertBatchAndReturnIdsInOrder() throws Exception {
+        // Arrange
+        UserDto second = new UserDto();
+        second.setName("Second User");
+        second.setUsername("second");
+        second.setEmail("second@example.com");
+
+        // Act & Assert
+        MvcResult result = mockMvc.perform(post("/users/batch")
+                .header("Authorization", authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testUserDto, second))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].data.username").value("testuser"))
+                .andExpect(jsonPath("$[1].status").value(201))
+                .andExpect(jsonPath("$[1].data.username").value("second"))
+                .andReturn();
+
+        long secondId = objectMapper.readTree(result.getResponse().getContentAsString()).get(1).get("id").asLong();
+        assertEquals("second", userRepository.findById(secondId).orElseThrow().getUsername());
+    }
+
+    @Test
+    void deleteUsers_ShouldReportMissingIdsPerItem() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setName("Test User");
+        user.setUsername("testuser");
+        user.setEmail("test@example.com");
+        User savedUser = userRepository.save(user);
+
+        // Act & Assert
+        mockMvc.perform(delete("/users/batch")
+                .header("Authorization", authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(savedUser.getId(), 999L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(204))
+                .andExpect(jsonPath("$[1].status").value(404));
+
+        assertFalse(userRepository.existsById(savedUser.getId()));
+    }
+
+    // A post with a comment, an album with a photo, and an open todo (which creates the stats row)
+    private void addContent(Long userId) {
+        jdbcTemplate.update("INSERT INTO posts (user_id, title, body) VALUES (?, 'title', 'body')", userId);
+        Long postId = jdbcTemplate.queryForObject("SELECT max(id) FROM posts", Long.class);
+        jdbcTemplate.update("INSERT INTO comments (post_id, name, email, body) VALUES (?, 'name', 'c@example.com', ?)",
+                postId, "of user " + userId);
+        jdbcTemplate.update("INSERT INTO albums (user_id, title) VALUES (?, 'title')", userId);
+        Long albumId = jdbcTemplate.queryForObject("SELECT max(id) FROM albums", Long.class);
+        jdbcTemplate.update("INSERT INTO photos (album_id, title, url, thumbnail_url) VALUES (?, ?, 'u', 't')",
+                albumId, "of user " + userId);
+        jdbcTemplate.update("INSERT INTO todos (user_id, title, completed) VALUES (?, 'title', 0)", userId);
+        assertEquals(1, count("SELECT count(*) FROM user_todo_stats WHERE user_id = ?", userId));
+    }
+
+    private void assertNoContentLeft(Long userId) {
+        assertEquals(0, count("SELECT count(*) FROM posts WHERE user_id = ?", userId));
+        assertEquals(0, count("SELECT count(*) FROM albums WHERE user_id = ?", userId));
+        assertEquals(0, count("SELECT count(*) FROM todos WHERE user_id = ?", userId));
+        assertEquals(0, count("SELECT count(*) FROM user_todo_stats WHERE user_id = ?", userId));
+        assertEquals(0, count("SELECT count(*) FROM comments WHERE body = ?", "of user " + userId));
+        assertEquals(0, count("SELECT count(*) FROM photos WHERE title = ?", "of user " + userId));
+    }
+
+    private long count(String sql, Object... args) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,64 @@
+package com.jsonplaceholder.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserFilterQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void filterByUsername_ShouldUseUsernameIndex() {
+        assertUsesIndex(new UserFilter(List.of("Bret", "Antonette"), null, null, null, null), "idx_users_username");
+    }
+
+    @Test
+    void filterByEmail_ShouldUseEmailIndex() {
+        assertUsesIndex(new UserFilter(null, List.of("Sincere@april.biz"), null, null, null), "idx_users_email");
+    }
+
+    @Test
+    void filterByCity_ShouldUseCityIndex() {
+        assertUsesIndex(new UserFilter(null, null, List.of("Gwenborough"), null, null), "idx_users_city");
+    }
+
+    @Test
+    void filterByZipcode_ShouldUseZipcodeIndex() {
+        assertUsesIndex(new UserFilter(null, null, null, List.of("92998-3874"), null), "idx_users_zipcode");
+    }
+
+    @Test
+    void filterByCompanyName_ShouldUseCompanyNameIndex() {
+        assertUsesIndex(new UserFilter(null, null, null, null, List.of("Romaguera-Crona")), "idx_users_company_name");
+    }
+
+    @Test
+    void existsByEmail_ShouldUseEmailIndex() {
+        // Same predicate as the HQL collate(u.email as nocase) = :email in UserRepository
+        String plan = explain("SELECT count(*) FROM users u WHERE u.email COLLATE NOCASE = ?", "Sincere@april.biz");
+
+        assertTrue(plan.contains("idx_users_email"), plan);
+    }
+
+    private void assertUsesIndex(UserFilter filter, String index) {
+        UserSearchRepositoryImpl.FilterQuery query = UserSearchRepositoryImpl.filterQuery(filter, 0L, 100);
+
+        String plan = explain(query.sql(), query.args().toArray());
+
+        assertTrue(plan.contains("USING INDEX " + index) || plan.contains("USING COVERING INDEX " + index), plan);
+        assertFalse(plan.contains("SCAN u"), plan);
+    }
+
+    private String explain(String sql, Object... args) {
+        List<String> details = jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql, (rs, rowNum) -> rs.getString("detail"), args);
+        return String.join("\n", details);
+    }
+}
@@ -0,0 +1,74 @@
+package com.jsonplaceholder.repository;
+
+import com.jsonplaceholder.cache.UserCache;
+import com.jsonplaceholder.model.User;
+import com.jsonplaceholder.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Reads issued outside a service transaction must still be routed to the reader pool
+@SpringBootTest
+class UserRepositoryRoutingTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void getUserById_OnCacheMiss_ShouldLoadFromTheReaderPool() {
+        // Arrange
+        User user = new User();
+        user.setName("Routed Reader");
+        user.setUsername("routed" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        Long id = userRepository.save(user).getId();
+        userCache.invalidate(id);
+
+        // Act & Assert
+        assertServedByReaders(() -> assertEquals("Routed Reader", userService.getUserById(id).getName()));
+    }
+
+    @Test
+    void findRowById_ShouldUseTheReaderPool() {
+        assertServedByReaders(() -> userRepository.findRowById(1L));
+    }
+
+    @Test
+    void findVersionById_ShouldUseTheReaderPool() {
+        assertServedByReaders(() -> userRepository.findVersionById(1L));
+    }
+
+    @Test
+    void findTableVersion_ShouldUseTheReaderPool() {
+        assertServedByReaders(userRepository::findTableVersion);
+    }
+
+    private void assertServedByReaders(Runnable read) {
+        // Arrange
+        double readers = acquisitions("sqlite-read-pool");
+        double writers = acquisitions("sqlite-write-pool");
+
+        // Act
+        read.run();
+
+        // Assert
+        assertEquals(readers + 1, acquisitions("sqlite-read-pool"));
+        assertEquals(writers, acquisitions("sqlite-write-pool"));
+    }
+
+    private double acquisitions(String pool) {
+        return meterRegistry.get("hikaricp.connections.acquire").tag("pool", pool).timer().count();
+    }
+}
@@ -0,0 +1,77 @@
+package com.jsonplaceholder.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET =
+            "jSVnih8jztz6v6DSaP8or9lhxY6WQ5ccV2W0jCAiiXVd6X5KLIPm4sZbxCxbpG+WtlOXrPmYSJhqMjfUOG4DHmhhuNNKQd1P1uxUPUfe4CXUAqIARzCvRpd8tAQd7MlFfFXUWkWG32W5bC1J4kaxQFR5fv4tDevvifK6y1yC8Hw1";
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 60_000, 100, new SimpleMeterRegistry());
+
+        UserPrincipal principal = new UserPrincipal(42L, "Test User", "test@example.com", "password", Collections.emptyList());
+        token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Test
+    void parseToken_WithValidToken_ShouldReturnClaims() {
+        // Act
+        Optional<Claims> claims = tokenProvider.parseToken(token);
+
+        // Assert
+        assertTrue(claims.isPresent());
+        assertEquals("42", claims.get().getSubject());
+        assertNotNull(claims.get().getExpiration());
+    }
+
+    @Test
+    void parseToken_WhenCalledTwice_ShouldReturnSameVerifiedClaims() {
+        // Act
+        Claims first = tokenProvider.parseToken(token).orElseThrow();
+        Claims second = tokenProvider.parseToken(token).orElseThrow();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(42L, tokenProvider.getUserIdFromJWT(token));
+    }
+
+    @Test
+    void parseToken_WithTamperedToken_ShouldReturnEmpty() {
+        // Arrange
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertTrue(tokenProvider.parseToken(tampered).isEmpty());
+        assertFalse(tokenProvider.validateToken(tampered));
+        assertFalse(tokenProvider.validateToken(null));
+    }
+
+    @Test
+    void parseToken_WithCacheDisabled_ShouldVerifyEveryCall() {
+        // Arrange
+        JwtTokenProvider uncachedProvider = new JwtTokenProvider(SECRET, 60_000, 0, new SimpleMeterRegistry());
+
+        // Act
+        Optional<Claims> first = uncachedProvider.parseToken(token);
+        Optional<Claims> second = uncachedProvider.parseToken(token);
+
+        // Assert
+        assertEquals("42", first.orElseThrow().getSubject());
+        assertNotSame(first.get(), second.orElseThrow());
+    }
+}
@@ -0,0 +1,110 @@
+package com.jsonplaceholder.security;
+
+import com.jsonplaceholder.model.AuthUser;
+import com.jsonplaceholder.repository.AuthUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PrincipalCacheIntegrationTest {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private AuthUserRepository authUserRepository;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private Function<Long, UserDetails> loader;
+    private TransactionTemplate write;
+    private AuthUser authUser;
+
+    @BeforeEach
+    void setUp() {
+        loader = id -> {
+            loads.incrementAndGet();
+            return customUserDetailsService.loadUserById(id);
+        };
+        write = new TransactionTemplate(transactionManager);
+
+        AuthUser newUser = new AuthUser();
+        newUser.setName("Cached Principal");
+        newUser.setEmail("principal-" + System.nanoTime() + "@example.com");
+        newUser.setPasswordHash("hash");
+        authUser = authUserRepository.save(newUser);
+        principalCache.get(authUser.getId(), tokenExpiration(), loader);
+        loads.set(0);
+    }
+
+    @Test
+    void update_ShouldEvictOnlyAfterCommit() {
+        // Act
+        write.executeWithoutResult(status -> {
+            AuthUser user = authUserRepository.findById(authUser.getId()).orElseThrow();
+            user.setName("Renamed");
+            authUserRepository.saveAndFlush(user);
+
+            // Assert: other requests keep the committed principal until the change commits
+            principalCache.get(authUser.getId(), tokenExpiration(), loader);
+            assertEquals(0, loads.get());
+        });
+
+        // Assert
+        UserDetails reloaded = principalCache.get(authUser.getId(), tokenExpiration(), loader);
+        assertEquals(1, loads.get());
+        assertNotNull(reloaded);
+    }
+
+    @Test
+    void update_WhenRolledBack_ShouldKeepEntry() {
+        // Act
+        write.executeWithoutResult(status -> {
+            AuthUser user = authUserRepository.findById(authUser.getId()).orElseThrow();
+            user.setName("Never committed");
+            authUserRepository.saveAndFlush(user);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        principalCache.get(authUser.getId(), tokenExpiration(), loader);
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void delete_ShouldEvictAfterCommit() {
+        // Act
+        write.executeWithoutResult(status -> {
+            authUserRepository.deleteById(authUser.getId());
+            authUserRepository.flush();
+
+            principalCache.get(authUser.getId(), tokenExpiration(), loader);
+            assertEquals(0, loads.get());
+        });
+
+        // Assert: the next request reloads and finds the user gone
+        assertThrows(RuntimeException.class,
+                () -> principalCache.get(authUser.getId(), tokenExpiration(), loader));
+        assertEquals(1, loads.get());
+    }
+
+    private static Date tokenExpiration() {
+        return new Date(System.currentTimeMillis() + 60_000);
+    }
+}
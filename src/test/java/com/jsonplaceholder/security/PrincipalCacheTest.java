@@ -0,0 +1,101 @@
+package com.jsonplaceholder.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private static final long JWT_EXPIRATION_MS = 60_000;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, UserDetails> loader = id -> {
+        loads.incrementAndGet();
+        return new UserPrincipal(id, "Test User", "test@example.com", "password", Collections.emptyList());
+    };
+
+    @Test
+    void get_WhenWarm_ShouldNotLoadAgain() {
+        // Arrange
+        PrincipalCache cache = newCache(true);
+        Date expiration = inMillis(JWT_EXPIRATION_MS);
+
+        // Act
+        UserDetails first = cache.get(1L, expiration, loader);
+        UserDetails second = cache.get(1L, expiration, loader);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_AfterInvalidate_ShouldLoadAgain() {
+        // Arrange
+        PrincipalCache cache = newCache(true);
+        cache.get(1L, inMillis(JWT_EXPIRATION_MS), loader);
+
+        // Act
+        cache.invalidate(1L);
+        cache.get(1L, inMillis(JWT_EXPIRATION_MS), loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldNotKeepEntryPastTokenExpiry() throws InterruptedException {
+        // Arrange
+        PrincipalCache cache = newCache(true);
+        cache.get(1L, inMillis(100), loader);
+
+        // Act
+        Thread.sleep(250);
+        cache.get(1L, inMillis(JWT_EXPIRATION_MS), loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WithExpiredToken_ShouldNotCache() {
+        // Arrange
+        PrincipalCache cache = newCache(true);
+
+        // Act
+        cache.get(1L, inMillis(-1_000), loader);
+        cache.get(1L, inMillis(JWT_EXPIRATION_MS), loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WhenDisabled_ShouldLoadEveryTime() {
+        // Arrange
+        PrincipalCache cache = newCache(false);
+        Date expiration = inMillis(JWT_EXPIRATION_MS);
+
+        // Act
+        cache.get(1L, expiration, loader);
+        cache.get(1L, expiration, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    private static PrincipalCache newCache(boolean enabled) {
+        return new PrincipalCache(enabled, 100, JWT_EXPIRATION_MS, new SimpleMeterRegistry());
+    }
+
+    private static Date inMillis(long millis) {
+        return new Date(System.currentTimeMillis() + millis);
+    }
+}
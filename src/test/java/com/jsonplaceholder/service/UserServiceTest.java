@@ -1,25 +1,47 @@
 package com.jsonplaceholder.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsonplaceholder.cache.UserCache;
 import com.jsonplaceholder.dto.AddressDto;
+import com.jsonplaceholder.dto.BatchItemResult;
 import com.jsonplaceholder.dto.CompanyDto;
+import com.jsonplaceholder.dto.CursorPage;
 import com.jsonplaceholder.dto.UserDto;
 import com.jsonplaceholder.model.User;
+import com.jsonplaceholder.repository.UserField;
+import com.jsonplaceholder.repository.UserFilter;
 import com.jsonplaceholder.repository.UserRepository;
+import com.jsonplaceholder.repository.UserRow;
 import com.jsonplaceholder.service.impl.UserServiceImpl;
+import com.jsonplaceholder.service.impl.WriteSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,14 +50,39 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private WriteSerializer writeSerializer;
+
+    private UserCache userCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private UserServiceImpl userService;
 
     private UserDto testUserDto;
     private User testUser;
+    private UserRow testRow;
 
     @BeforeEach
     void setUp() {
+        userCache = new UserCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5), new SimpleMeterRegistry());
+        userService = new UserServiceImpl(
+                userRepository, entityManager, userCache, writeSerializer, eventPublisher, Duration.ofSeconds(30));
+
+        // Apply writes inline on the test thread
+        lenient().when(writeSerializer.execute(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(writeSerializer).run(any());
+
         // Подготовка тестовых данных
         testUserDto = new UserDto();
         testUserDto.setName("Test User");
@@ -62,27 +109,117 @@ class UserServiceTest {
         testUser.setName("Test User");
         testUser.setUsername("testuser");
         testUser.setEmail("test@example.com");
+
+        testRow = new UserRow(1L, "Test User", "testuser", "test@example.com",
+                null, null, null, null, null, null, null, null, null, null, null, 0L);
     }
 
     @Test
-    void getAllUsers_ShouldReturnAllUsers() {
+    void getAllUsers_ShouldReturnFirstPage() {
         // Arrange
-        when(userRepository.findAll()).thenReturn(Arrays.asList(testUser));
+        when(userRepository.findRowsAfter(eq(0L), any(Limit.class))).thenReturn(Arrays.asList(testRow));
 
         // Act
-        List<UserDto> result = userService.getAllUsers();
+        CursorPage<UserDto> result = userService.getAllUsers(null, 10, UserFilter.NONE);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testUser.getName(), result.get(0).getName());
-        verify(userRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(testUser.getName(), result.getItems().get(0).getName());
+        assertNull(result.getNextCursor());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllUsers_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        // Arrange
+        UserRow secondRow = new UserRow(2L, "Second User", "second", "second@example.com",
+                null, null, null, null, null, null, null, null, null, null, null, 0L);
+        when(userRepository.findRowsAfter(eq(0L), any(Limit.class))).thenReturn(Arrays.asList(testRow, secondRow));
+
+        // Act
+        CursorPage<UserDto> result = userService.getAllUsers(0L, 1, UserFilter.NONE);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(testUser.getId(), result.getNextCursor());
+    }
+
+    @Test
+    void getAllUsers_WithFilter_ShouldUseFilteredQuery() {
+        // Arrange
+        UserFilter filter = new UserFilter(List.of("testuser"), null, null, null, null);
+        when(userRepository.filterRowsAfter(filter, 0L, 11)).thenReturn(List.of(testRow));
+
+        // Act
+        CursorPage<UserDto> result = userService.getAllUsers(null, 10, filter);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals("testuser", result.getItems().get(0).getUsername());
+        verify(userRepository, never()).findRowsAfter(any(), any(Limit.class));
+    }
+
+    @Test
+    void searchUsers_ShouldQuoteEachWordAsPrefixTerm() {
+        // Arrange
+        UserRow secondRow = new UserRow(2L, "Second User", "second", "second@example.com",
+                null, null, null, null, null, null, null, null, null, null, null, 0L);
+        when(userRepository.search("\"test\"* \"OR\"* \"user\"*", 0L, 2)).thenReturn(Arrays.asList(testRow, secondRow));
+
+        // Act
+        CursorPage<UserDto> result = userService.searchUsers("test OR \"user*", 0L, 1);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(testUser.getName(), result.getItems().get(0).getName());
+        assertEquals(1L, result.getNextCursor());
+    }
+
+    @Test
+    void searchUsers_WhenQueryHasNoWords_ShouldNotQueryRepository() {
+        // Act
+        CursorPage<UserDto> result = userService.searchUsers(" -*\"", 0L, 10);
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getApproximateUserCount_ShouldBeCachedBetweenCalls() {
+        // Arrange
+        when(userRepository.count()).thenReturn(42L);
+
+        // Act
+        userService.getApproximateUserCount();
+        long count = userService.getApproximateUserCount().getAsLong();
+
+        // Assert
+        assertEquals(42L, count);
+        verify(userRepository, times(1)).count();
+    }
+
+    @Test
+    void streamAllUsers_ShouldEmitEachUserAndDetachIt() {
+        // Arrange
+        when(userRepository.streamAllOrderedById()).thenReturn(Stream.of(testUser));
+        List<UserDto> emitted = new ArrayList<>();
+
+        // Act
+        userService.streamAllUsers(emitted::add);
+
+        // Assert
+        assertEquals(1, emitted.size());
+        assertEquals(testUser.getName(), emitted.get(0).getName());
+        verify(entityManager).detach(testUser);
     }
 
     @Test
     void getUserById_WhenUserExists_ShouldReturnUser() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findRowById(1L)).thenReturn(Optional.of(testRow));
 
         // Act
         UserDto result = userService.getUserById(1L);
@@ -90,17 +227,116 @@ class UserServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(testUser.getName(), result.getName());
-        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findRowById(1L);
     }
 
     @Test
     void getUserById_WhenUserDoesNotExist_ShouldThrowException() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findRowById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> userService.getUserById(1L));
-        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findRowById(1L);
+    }
+
+    @Test
+    void getUserById_ShouldRebuildEmbeddedObjectsFromProjection() {
+        // Arrange
+        UserRow row = new UserRow(1L, "Test User", "testuser", "test@example.com",
+                "Test Street", null, "Test City", null, "-37.3159", "81.1496",
+                null, null, null, null, null, 0L);
+        when(userRepository.findRowById(1L)).thenReturn(Optional.of(row));
+
+        // Act
+        UserDto result = userService.getUserById(1L);
+
+        // Assert
+        assertEquals("Test City", result.getAddress().getCity());
+        assertEquals("81.1496", result.getAddress().getGeo().getLng());
+        assertNull(result.getCompany());
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getUserById_WhenCached_ShouldNotQueryRepositoryAgain() {
+        // Arrange
+        when(userRepository.findRowById(1L)).thenReturn(Optional.of(testRow));
+
+        // Act
+        userService.getUserById(1L);
+        UserDto result = userService.getUserById(1L);
+
+        // Assert
+        assertEquals(testUser.getName(), result.getName());
+        verify(userRepository, times(1)).findRowById(1L);
+        assertEquals(1, userCache.stats().hitCount());
+    }
+
+    @Test
+    void getUserById_WhenUserDoesNotExist_ShouldCacheTheMiss() {
+        // Arrange
+        when(userRepository.findRowById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserById(1L));
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserById(1L));
+        verify(userRepository, times(1)).findRowById(1L);
+    }
+
+    @Test
+    void getUserById_AfterInvalidation_ShouldReloadUser() {
+        // Arrange
+        when(userRepository.findRowById(1L)).thenReturn(Optional.of(testRow));
+        userService.getUserById(1L);
+
+        // Act
+        userCache.invalidate(1L);
+        userService.getUserById(1L);
+
+        // Assert
+        verify(userRepository, times(2)).findRowById(1L);
+    }
+
+    @Test
+    void getUserVersion_WhenUserIsCached_ShouldNotQueryRepository() {
+        // Arrange
+        UserRow versionedRow = new UserRow(1L, "Test User", "testuser", "test@example.com",
+                null, null, null, null, null, null, null, null, null, null, null, 3L);
+        when(userRepository.findRowById(1L)).thenReturn(Optional.of(versionedRow));
+        userService.getUserById(1L);
+
+        // Act
+        OptionalLong version = userService.getUserVersion(1L);
+
+        // Assert
+        assertEquals(3L, version.getAsLong());
+        verify(userRepository, never()).findVersionById(anyLong());
+    }
+
+    @Test
+    void getUserVersion_WhenUserIsNotCached_ShouldQueryOnlyTheVersion() {
+        // Arrange
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        // Act
+        OptionalLong version = userService.getUserVersion(1L);
+
+        // Assert
+        assertEquals(5L, version.getAsLong());
+        verify(userRepository, never()).findRowById(anyLong());
+    }
+
+    @Test
+    void getUserVersion_WhenUserIsCachedAsMissing_ShouldThrowWithoutQuery() {
+        // Arrange
+        when(userRepository.findRowById(99L)).thenReturn(Optional.empty());
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserById(99L));
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserVersion(99L));
+        verify(userRepository, never()).findVersionById(anyLong());
+        verify(userRepository, times(1)).findRowById(99L);
     }
 
     @Test
@@ -115,6 +351,7 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals(testUser.getName(), result.getName());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L));
     }
 
     @Test
@@ -144,6 +381,46 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void patchUser_ShouldUpdateOnlyPatchedColumnsWithoutLoadingEntity() throws Exception {
+        // Arrange
+        JsonNode patch = objectMapper.readTree("{\"phone\":\"555-0100\",\"address\":{\"geo\":null}}");
+        Map<UserField, String> expected = new EnumMap<>(UserField.class);
+        expected.put(UserField.ADDRESS_GEO_LAT, null);
+        expected.put(UserField.ADDRESS_GEO_LNG, null);
+        expected.put(UserField.PHONE, "555-0100");
+        when(userRepository.updateColumns(1L, expected)).thenReturn(1);
+        when(userRepository.findRowById(1L)).thenReturn(Optional.of(testRow));
+
+        // Act
+        UserDto result = userService.patchUser(1L, patch);
+
+        // Assert
+        assertEquals(testRow.name(), result.getName());
+        verify(userRepository).updateColumns(1L, expected);
+        verify(userRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L));
+    }
+
+    @Test
+    void patchUser_WhenUserDoesNotExist_ShouldThrowException() throws Exception {
+        // Arrange
+        when(userRepository.updateColumns(eq(1L), any())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class,
+                () -> userService.patchUser(1L, objectMapper.readTree("{\"website\":\"example.org\"}")));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patchUser_WhenRequiredFieldIsNulled_ShouldRejectPatch() throws Exception {
+        // Act & Assert
+        assertThrows(InvalidPatchException.class,
+                () -> userService.patchUser(1L, objectMapper.readTree("{\"email\":null}")));
+        verify(userRepository, never()).updateColumns(anyLong(), any());
+    }
+
     @Test
     void deleteUser_WhenUserExists_ShouldDeleteUser() {
         // Arrange
@@ -156,6 +433,7 @@ class UserServiceTest {
         // Assert
         verify(userRepository, times(1)).existsById(1L);
         verify(userRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L));
     }
 
     @Test
@@ -168,4 +446,67 @@ class UserServiceTest {
         verify(userRepository, times(1)).existsById(1L);
         verify(userRepository, never()).deleteById(anyLong());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void createUsers_ShouldReturnResultsInRequestOrder() {
+        // Arrange
+        UserDto invalidDto = new UserDto();
+        invalidDto.setName("No Username");
+        UserDto secondDto = new UserDto();
+        secondDto.setName("Second User");
+        secondDto.setUsername("second");
+        secondDto.setEmail("second@example.com");
+        when(userRepository.insertAll(anyList())).thenReturn(List.of(10L, 11L));
+
+        // Act
+        List<BatchItemResult> results = userService.createUsers(List.of(testUserDto, invalidDto, secondDto));
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(10L, results.get(0).getId());
+        assertEquals("testuser", results.get(0).getData().getUsername());
+        assertEquals(400, results.get(1).getStatus());
+        assertEquals(201, results.get(2).getStatus());
+        assertEquals(11L, results.get(2).getData().getId());
+        verify(userRepository, times(1)).insertAll(anyList());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void updateUsers_WhenSomeUsersDoNotExist_ShouldReportThemAsNotFound() {
+        // Arrange
+        testUserDto.setId(1L);
+        UserDto missingDto = new UserDto();
+        missingDto.setId(2L);
+        missingDto.setName("Missing");
+        missingDto.setUsername("missing");
+        missingDto.setEmail("missing@example.com");
+        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testUser));
+
+        // Act
+        List<BatchItemResult> results = userService.updateUsers(List.of(testUserDto, missingDto));
+
+        // Assert
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals("Test City", results.get(0).getData().getAddress().getCity());
+        assertEquals(404, results.get(1).getStatus());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L));
+        verify(eventPublisher, never()).publishEvent(new UserChangedEvent(2L));
+    }
+
+    @Test
+    void deleteUsers_ShouldDeleteExistingUsersInOneStatement() {
+        // Arrange
+        when(userRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(List.of(1L));
+
+        // Act
+        List<BatchItemResult> results = userService.deleteUsers(List.of(1L, 2L));
+
+        // Assert
+        assertEquals(204, results.get(0).getStatus());
+        assertEquals(404, results.get(1).getStatus());
+        verify(userRepository).deleteAllByIdInBatch(Set.of(1L));
+        verify(userRepository, never()).deleteById(anyLong());
+    }
+}
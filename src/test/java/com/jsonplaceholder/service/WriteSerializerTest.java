@@ -0,0 +1,175 @@
+package com.jsonplaceholder.service;
+
+import com.jsonplaceholder.cache.UserCache;
+import com.jsonplaceholder.dto.UserDto;
+import com.jsonplaceholder.model.User;
+import com.jsonplaceholder.repository.UserRepository;
+import com.jsonplaceholder.service.impl.UserServiceImpl;
+import com.jsonplaceholder.service.impl.WriteSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WriteSerializerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private WriteSerializer writeSerializer;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        writeSerializer = new WriteSerializer(
+                transactionManager, true, 64, Duration.ofMillis(50), 100, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        writeSerializer.destroy();
+    }
+
+    @Test
+    void execute_ShouldCommitConcurrentWritesTogether() throws Exception {
+        // Arrange
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            results.add(CompletableFuture.supplyAsync(() -> {
+                awaitQuietly(start);
+                return writeSerializer.execute(() -> value);
+            }, callers));
+        }
+
+        // Act
+        start.countDown();
+
+        // Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertTrue(meterRegistry.get("sqlite.write.batch.size").summary().count() < 5);
+        assertEquals(5, meterRegistry.get("sqlite.write.queue.latency").timer().count());
+    }
+
+    @Test
+    void execute_WhenOneWriteFails_ShouldOnlyFailThatWrite() throws Exception {
+        // Arrange
+        CountDownLatch start = new CountDownLatch(1);
+        CompletableFuture<String> good = CompletableFuture.supplyAsync(() -> {
+            awaitQuietly(start);
+            return writeSerializer.execute(() -> "saved");
+        }, callers);
+        CompletableFuture<String> bad = CompletableFuture.supplyAsync(() -> {
+            awaitQuietly(start);
+            return writeSerializer.execute(() -> {
+                throw new IllegalArgumentException("constraint violated");
+            });
+        }, callers);
+
+        // Act
+        start.countDown();
+
+        // Assert
+        assertEquals("saved", good.get(5, TimeUnit.SECONDS));
+        CompletionException ex = assertThrows(CompletionException.class, bad::join);
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        verify(transactionManager, atLeastOnce()).rollback(any());
+    }
+
+    @Test
+    void execute_WhenBatchIsReplayed_ShouldCreateFromAFreshEntity() throws Exception {
+        // Arrange
+        writeSerializer.destroy();
+        // A batch of exactly two: the failing write and the create always share it
+        writeSerializer = new WriteSerializer(
+                transactionManager, true, 2, Duration.ofSeconds(5), 100, meterRegistry);
+        UserRepository userRepository = mock(UserRepository.class);
+        UserService userService = new UserServiceImpl(userRepository, mock(EntityManager.class),
+                new UserCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5), meterRegistry),
+                writeSerializer, mock(ApplicationEventPublisher.class), Duration.ofSeconds(30));
+
+        AtomicLong sequence = new AtomicLong();
+        List<Long> idsSeenBySave = new CopyOnWriteArrayList<>();
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            // Assigns id and version the way persist does, which the rollback does not undo
+            User user = invocation.getArgument(0);
+            idsSeenBySave.add(user.getId());
+            user.setId(sequence.incrementAndGet());
+            user.setVersion(0L);
+            return user;
+        });
+        UserDto userDto = new UserDto();
+        userDto.setName("Replayed");
+        userDto.setUsername("replayed");
+        userDto.setEmail("replayed@example.com");
+
+        CountDownLatch start = new CountDownLatch(1);
+        CompletableFuture<UserDto> created = CompletableFuture.supplyAsync(() -> {
+            awaitQuietly(start);
+            return userService.createUser(userDto);
+        }, callers);
+        CompletableFuture<Object> failing = CompletableFuture.supplyAsync(() -> {
+            awaitQuietly(start);
+            return writeSerializer.execute(() -> {
+                throw new IllegalArgumentException("constraint violated");
+            });
+        }, callers);
+
+        // Act
+        start.countDown();
+
+        // Assert
+        assertEquals("Replayed", created.get(5, TimeUnit.SECONDS).getName());
+        assertThrows(CompletionException.class, failing::join);
+        assertEquals(1.0, meterRegistry.get("sqlite.write.batch.replays").counter().count());
+        assertEquals(Arrays.asList(null, null), idsSeenBySave);
+    }
+
+    @Test
+    void execute_WhenDisabled_ShouldRunOnCallerThread() throws InterruptedException {
+        // Arrange
+        writeSerializer.destroy();
+        writeSerializer = new WriteSerializer(
+                transactionManager, false, 64, Duration.ofMillis(2), 100, meterRegistry);
+
+        // Act
+        Thread thread = writeSerializer.execute(Thread::currentThread);
+
+        // Assert
+        assertSame(Thread.currentThread(), thread);
+        verify(transactionManager).commit(any());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}